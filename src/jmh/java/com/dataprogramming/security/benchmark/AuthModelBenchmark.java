@@ -0,0 +1,153 @@
+package com.dataprogramming.security.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.dataprogramming.security.cache.InMemorySharedCache;
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.cache.SingleFlight;
+import com.dataprogramming.security.cache.TwoTierCache;
+import com.dataprogramming.security.config.JwtProperties;
+import com.dataprogramming.security.config.SecurityEventProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.mapper.UserMapper;
+import com.dataprogramming.security.mapper.UserMapperImpl;
+import com.dataprogramming.security.repository.UserStore;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation benchmark of the model work done by the register and login paths.
+ * <p>
+ * Runs the real {@link UserService}, {@link UserMapper}, {@link JwtUtil}, Jackson and the
+ * Mongo entity converter with MongoDB and BCrypt stubbed out, so {@code -prof gc}
+ * ({@code gc.alloc.rate.norm}) reports the garbage produced by the request/entity/response
+ * objects themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthModelBenchmark {
+
+    private static final String PASSWORD = "plainPassword";
+
+    private ObjectMapper objectMapper;
+    private MappingMongoConverter converter;
+    private UserMapper userMapper;
+    private JwtUtil jwtUtil;
+    private UserService userService;
+    private byte[] registerBody;
+    private Document storedUser;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        userMapper = new UserMapperImpl();
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("q8cVjsOe3H7kY5q2fF4uT7NzfO5vBGRtK/6L7fjdQfw=");
+        jwtProperties.setIssuer("benchmark");
+        jwtProperties.setExpiration(60_000);
+        jwtUtil = new JwtUtil(jwtProperties);
+
+        storedUser = new Document("_id", "64f1c0ffee0000000000abcd")
+                .append("documentType", "DNI")
+                .append("documentNumber", "47222415")
+                .append("userName", "abel")
+                .append("password", PASSWORD)
+                .append("role", "ROLE_USER")
+                .append("enabled", true);
+        // zero time to live: nothing is cached, every call goes through the repository stub
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCache<User> userCache = new TwoTierCache<>("users", User.class, 1, user -> Duration.ZERO,
+                new InMemorySharedCache(), meterRegistry);
+        userService = new UserService(store(), new PlainPasswordEncoder(), userMapper, Schedulers.immediate(), userCache,
+                new TwoTierCache<>("user-versions", Long.class, 1, version -> Duration.ZERO, new InMemorySharedCache(),
+                        meterRegistry),
+                new SingleFlight<>("user-by-name", meterRegistry), new SingleFlight<>("user-by-id", meterRegistry),
+                new NegativeCache("unknown-users", 1, Duration.ofMinutes(1), new InMemorySharedCache(), meterRegistry),
+                new SecurityEventBus(new SecurityEventProperties(), meterRegistry, List.of(), Schedulers.immediate()));
+        registerBody = objectMapper.writeValueAsBytes(
+                new RegisterRequest("DNI", "47222415", "abel", PASSWORD, RegisterRequest.EnumRole.ROLE_USER));
+    }
+
+    @Benchmark
+    public byte[] register() throws Exception {
+        RegisterRequest request = objectMapper.readValue(registerBody, RegisterRequest.class);
+        return objectMapper.writeValueAsBytes(userService.registerUser(request)
+                .map(userMapper::toRegisterResponse)
+                .block());
+    }
+
+    @Benchmark
+    public byte[] login() throws Exception {
+        return objectMapper.writeValueAsBytes(userService.validateUser("abel", PASSWORD)
+                .map(user -> new AuthResponse(jwtUtil.generateToken(user)))
+                .block());
+    }
+
+    /**
+     * Store stub that round-trips entities through the Mongo converter, as the driver-backed
+     * store does on save and find.
+     */
+    private UserStore store() {
+        return (UserStore) Proxy.newProxyInstance(UserStore.class.getClassLoader(),
+                new Class<?>[]{UserStore.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        Document document = new Document();
+                        converter.write(args[0], document);
+                        document.putIfAbsent("_id", "64f1c0ffee0000000000abcd");
+                        yield Mono.just(converter.read(User.class, document));
+                    }
+                    case "findByUserName" -> Mono.fromSupplier(() -> converter.read(User.class, storedUser));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class PlainPasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.contentEquals(rawPassword);
+        }
+    }
+}
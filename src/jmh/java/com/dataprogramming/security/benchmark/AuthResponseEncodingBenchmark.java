@@ -0,0 +1,114 @@
+package com.dataprogramming.security.benchmark;
+
+import com.dataprogramming.security.config.codec.AuthResponseJsonEncoder;
+import com.dataprogramming.security.config.codec.TokenValidationCborEncoder;
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.TokenValidation;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-response encoding cost of the auth responses: the default Jackson WebFlux encoder versus
+ * {@link AuthResponseJsonEncoder}, both writing into pooled Netty buffers as Reactor Netty does,
+ * and the JSON validation response versus the compact CBOR one written by
+ * {@link TokenValidationCborEncoder}. Run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm}; the payload size of each representation is printed on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthResponseEncodingBenchmark {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJhYmVsIiwianRpIjoiNDcyOGNhZDgtMDQ3NS00N2RmLTlkMjAtZTI1MD"
+            + "RjYjMxZDMyIiwiaXNzIjoiZGF0YS1zZWN1cml0eSIsImlhdCI6MTc1NzIyMTM0NCwiZXhwIjoxNzU3MjIxNTI0LCJkb2N1bWVudFR5"
+            + "cGUiOiIxIiwiZG9jdW1lbnROdW1iZXIiOiI0NzIyMjQxNSIsImVuYWJsZWQiOmZhbHNlLCJyb2xlIjoiUk9MRV9VU0VSIn0.NlMYxL"
+            + "aeoGhqYnT8Nnfo-HhDHzHSazidb6M1XjqODjM";
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final ResolvableType authResponseType = ResolvableType.forClass(AuthResponse.class);
+    private final ResolvableType tokenResponseType = ResolvableType.forClass(TokenResponse.class);
+    private final ResolvableType tokenValidationType = ResolvableType.forClass(TokenValidation.class);
+
+    private Jackson2JsonEncoder jacksonEncoder;
+    private AuthResponseJsonEncoder directEncoder;
+    private TokenValidationCborEncoder cborEncoder;
+    private AuthResponse authResponse;
+    private TokenResponse tokenResponse;
+    private TokenValidation tokenValidation;
+
+    @Setup
+    public void setUp() {
+        jacksonEncoder = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build());
+        directEncoder = new AuthResponseJsonEncoder();
+        authResponse = new AuthResponse(TOKEN);
+        tokenResponse = new TokenResponse(true, "Valid token", new TokenData(TOKEN, "abel", "ROLE_USER", true));
+        cborEncoder = new TokenValidationCborEncoder();
+        tokenValidation = new TokenValidation(true, "Valid token", "abel", "ROLE_USER", true);
+        System.out.printf("%nValidation payload: JSON %d bytes, CBOR %d bytes%n",
+                encode(directEncoder, tokenResponse, tokenResponseType, MediaType.APPLICATION_JSON),
+                encode(cborEncoder, tokenValidation, tokenValidationType, MediaType.APPLICATION_CBOR));
+    }
+
+    @Benchmark
+    public int jacksonAuthResponse() {
+        return encode(jacksonEncoder, authResponse, authResponseType);
+    }
+
+    @Benchmark
+    public int directAuthResponse() {
+        return encode(directEncoder, authResponse, authResponseType);
+    }
+
+    @Benchmark
+    public int jacksonTokenResponse() {
+        return encode(jacksonEncoder, tokenResponse, tokenResponseType);
+    }
+
+    @Benchmark
+    public int directTokenResponse() {
+        return encode(directEncoder, tokenResponse, tokenResponseType);
+    }
+
+    @Benchmark
+    public int cborTokenValidation() {
+        return encode(cborEncoder, tokenValidation, tokenValidationType, MediaType.APPLICATION_CBOR);
+    }
+
+    private int encode(Encoder<?> encoder, Object value, ResolvableType type) {
+        return encode(encoder, value, type, MediaType.APPLICATION_JSON);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int encode(Encoder<?> encoder, Object value, ResolvableType type, MediaType mediaType) {
+        DataBuffer buffer = ((Encoder<Object>) encoder).encodeValue(value, bufferFactory, type,
+                mediaType, Collections.emptyMap());
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,261 @@
+package com.dataprogramming.security.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.grpc.GrpcServer;
+import com.dataprogramming.security.grpc.v1.TokenIntrospectionGrpc;
+import com.dataprogramming.security.grpc.v1.TokenRequest;
+import com.dataprogramming.security.grpc.v1.TokenValidationReply;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-model load test of the authentication flow.
+ * <p>
+ * Boots {@code SecurityApplication} on a random port against an in-memory MongoDB wire-protocol
+ * server, seeds {@code load.users} accounts and then issues a fixed mix of register, login,
+ * validate, refresh and protected-route requests at {@code load.rate} arrivals per second for
+ * {@code load.duration}. Arrivals are scheduled independently of responses, so a slow server shows
+ * up as latency and dropped arrivals instead of a lower request rate. The p50/p99/p999 report is
+ * printed and written to {@code load.reportDir}.
+ * <p>
+ * {@code load.protocol=h2c} sends the requests over cleartext HTTP/2 with prior knowledge, and
+ * {@code load.connections} caps the client pool, so a gateway multiplexing its calls over a few
+ * connections can be compared with one opening a connection per in-flight request.
+ * {@code load.mix=validate} replaces the mix with {@code /auth/validate} calls only.
+ * {@code load.protocol=grpc} sends the validations to the gRPC {@code Validate} method over a
+ * single channel instead, to compare its latency with the REST endpoint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.expiration=3600000",
+        "grpc.port=0",
+        "management.tracing.enabled=false",
+        "logging.config=classpath:logback-load-test.xml",
+        "logging.level.com.dataprogramming=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN"
+})
+class AuthFlowLoadIT {
+
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final String PASSWORD = "load-test-password";
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    private final int rate = Integer.getInteger("load.rate", 100);
+    private final Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private final int users = Integer.getInteger("load.users", 50);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    private final Path reportDir = Path.of(System.getProperty("load.reportDir", "target/load-test"));
+    private final String protocolName = System.getProperty("load.protocol", "http11").toUpperCase(Locale.ROOT);
+    private final boolean grpc = "GRPC".equals(protocolName);
+    private final HttpProtocol protocol = grpc ? HttpProtocol.HTTP11 : HttpProtocol.valueOf(protocolName);
+    private final int connections = grpc ? 1 : Integer.getInteger("load.connections", MAX_IN_FLIGHT);
+    private final String mix = System.getProperty("load.mix", "auth");
+
+    private final AtomicLong documentNumbers = new AtomicLong(10_000_000L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    private TokenIntrospectionGrpc.TokenIntrospectionStub introspection;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> "mongodb://%s:%d/ms-security-load"
+                .formatted(MONGO_ADDRESS.getHostString(), MONGO_ADDRESS.getPort()));
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdown();
+    }
+
+    @Test
+    @DisplayName("sustains Fixed Arrival Rate For The Auth Mix")
+    void sustainsFixedArrivalRateForTheAuthMix() throws IOException {
+        WebClient client = webClient("http://localhost:" + port);
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", grpcServer.getPort(),
+                InsecureChannelCredentials.create()).build();
+        introspection = TokenIntrospectionGrpc.newStub(channel);
+        List<Session> sessions = seed(client);
+        Operation[] schedule = "validate".equals(mix) ? new Operation[] {Operation.VALIDATE} : schedule();
+        LoadStatistics statistics = new LoadStatistics();
+
+        long started = System.nanoTime();
+        Flux.interval(Duration.ofNanos(Duration.ofSeconds(1).toNanos() / rate))
+                .take(rate * duration.toSeconds())
+                .onBackpressureDrop(tick -> statistics.recordDroppedArrival())
+                .flatMap(tick -> execute(client, schedule[(int) (tick % schedule.length)],
+                        sessions.get((int) (tick % sessions.size())), statistics), MAX_IN_FLIGHT)
+                .blockLast(duration.plusMinutes(1));
+        long elapsed = System.nanoTime() - started;
+        channel.shutdownNow();
+
+        String report = "protocol=%s connections=%d mix=%s%n".formatted(protocolName, connections, mix)
+                + statistics.report(rate, elapsed);
+        System.out.println(report);
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("auth-flow.txt"), report);
+
+        assertThat(statistics.totalRequests()).isPositive();
+        assertThat(statistics.errorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private Mono<Void> execute(WebClient client, Operation operation, Session session, LoadStatistics statistics) {
+        long start = System.nanoTime();
+        return request(client, operation, session)
+                .doOnNext(ok -> {
+                    if (Boolean.TRUE.equals(ok)) {
+                        statistics.recordSuccess(operation, start);
+                    } else {
+                        statistics.recordError(operation, start);
+                    }
+                })
+                .onErrorResume(error -> {
+                    statistics.recordError(operation, start);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Boolean> request(WebClient client, Operation operation, Session session) {
+        return switch (operation) {
+            case REGISTER -> client.post().uri("/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(registerBody("load-" + documentNumbers.incrementAndGet()))
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().is2xxSuccessful()));
+            case LOGIN -> client.post().uri("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("userName", session.userName(), "password", PASSWORD))
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().is2xxSuccessful()));
+            case VALIDATE -> grpc
+                    ? grpcValidate(session)
+                    : bearer(client.post().uri("/auth/validate"), session);
+            case REFRESH -> bearer(client.post().uri("/auth/refresh"), session);
+            case PROTECTED -> bearer(client.get().uri("/auth/users/{id}", session.id()), session);
+        };
+    }
+
+    private Mono<Boolean> grpcValidate(Session session) {
+        TokenRequest request = TokenRequest.newBuilder().setToken(session.token()).build();
+        return Mono.create(sink -> introspection.validate(request, new StreamObserver<TokenValidationReply>() {
+            @Override
+            public void onNext(TokenValidationReply reply) {
+                sink.success(reply.getValid());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                sink.error(error);
+            }
+
+            @Override
+            public void onCompleted() {
+                sink.success();
+            }
+        }));
+    }
+
+    private static Mono<Boolean> bearer(WebClient.RequestHeadersSpec<?> request, Session session) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + session.token())
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful()));
+    }
+
+    private List<Session> seed(WebClient client) {
+        return Flux.range(0, users)
+                .map(index -> "seed-" + documentNumbers.incrementAndGet())
+                .flatMap(userName -> client.post().uri("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(registerBody(userName))
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                        .flatMap(registered -> client.post().uri("/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(Map.of("userName", userName, "password", PASSWORD))
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                                .map(login -> new Session(String.valueOf(registered.get("id")), userName,
+                                        String.valueOf(login.get("token"))))), 16)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+    }
+
+    private Map<String, Object> registerBody(String userName) {
+        return Map.of(
+                "documentType", "DNI",
+                "documentNumber", userName,
+                "userName", userName,
+                "password", PASSWORD,
+                "role", "ROLE_ADMIN");
+    }
+
+    /**
+     * Builds a 100-slot schedule following the operation weights, shuffled with a fixed seed so
+     * every run issues the same sequence of requests.
+     */
+    private static Operation[] schedule() {
+        List<Operation> slots = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            slots.addAll(Collections.nCopies(operation.weight(), operation));
+        }
+        Collections.shuffle(slots, new Random(42));
+        return slots.toArray(Operation[]::new);
+    }
+
+    private WebClient webClient(String baseUrl) {
+        ConnectionProvider provider = ConnectionProvider.builder("load-test")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider).protocol(protocol)))
+                .build();
+    }
+
+    private record Session(String id, String userName, String token) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.dataprogramming.security.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error statistics collected per {@link Operation} during a load run.
+ */
+class LoadStatistics {
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder droppedArrivals = new LongAdder();
+
+    LoadStatistics() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void recordSuccess(Operation operation, long startNanos) {
+        latencies.get(operation).recordValue(System.nanoTime() - startNanos);
+    }
+
+    void recordError(Operation operation, long startNanos) {
+        recordSuccess(operation, startNanos);
+        errors.get(operation).increment();
+    }
+
+    void recordDroppedArrival() {
+        droppedArrivals.increment();
+    }
+
+    long totalRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum() + droppedArrivals.sum();
+    }
+
+    double errorRate() {
+        long total = totalRequests() + droppedArrivals.sum();
+        return total == 0 ? 0 : (double) totalErrors() / total;
+    }
+
+    /**
+     * Formats a fixed-width table with p50/p99/p999/max latencies (ms) and errors per operation.
+     */
+    String report(int rate, long elapsedNanos) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %8s %7s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            report.append(String.format("%-10s %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        report.append(String.format("target rate: %d req/s, achieved: %.1f req/s, dropped arrivals: %d, error rate: %.4f%n",
+                rate, totalRequests() / seconds, droppedArrivals.sum(), errorRate()));
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
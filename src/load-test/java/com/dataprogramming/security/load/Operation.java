@@ -0,0 +1,22 @@
+package com.dataprogramming.security.load;
+
+/**
+ * Request types issued by the load test and their share of the arrival mix (in percent).
+ */
+enum Operation {
+    REGISTER(5),
+    LOGIN(25),
+    VALIDATE(35),
+    REFRESH(10),
+    PROTECTED(25);
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    int weight() {
+        return weight;
+    }
+}
@@ -1,9 +1,12 @@
 package com.dataprogramming.security;
 
+import com.dataprogramming.security.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class SecurityApplication {
 
 	public static void main(String[] args) {
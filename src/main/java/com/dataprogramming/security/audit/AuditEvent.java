@@ -0,0 +1,18 @@
+package com.dataprogramming.security.audit;
+
+import com.dataprogramming.security.security.event.SecurityEvent;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * Audit trail entry, stored in the capped audit collection (see {@link AuditLog}).
+ */
+@Builder
+public record AuditEvent(@Id String id, SecurityEvent.Type type, String userName, String detail, Instant timestamp) {
+
+    static AuditEvent from(SecurityEvent event) {
+        return new AuditEvent(null, event.type(), event.userName(), event.detail(), event.timestamp());
+    }
+}
@@ -0,0 +1,204 @@
+package com.dataprogramming.security.audit;
+
+import com.dataprogramming.security.config.AuditProperties;
+import com.dataprogramming.security.repository.InMemoryUserStore;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only audit trail of logins, token refreshes, registrations and user deletions.
+ * <p>
+ * Events arrive as {@link SecurityEventListener} callbacks on the request path, where they are
+ * only appended to a bounded, lock-free in-memory queue: auditing adds no database round trip to
+ * any request. When the queue is full the oldest event is dropped and counted. A single writer
+ * drains the queue every {@code audit.flush-interval}, or as soon as {@code audit.batch-size}
+ * events are waiting, with one unordered insert per batch into a capped collection (created on
+ * the first flush if missing). A failed batch is put back in the queue for the next flush.
+ * <p>
+ * Metrics: {@code audit.queue.depth}, {@code audit.events.written}, {@code audit.events.dropped},
+ * {@code audit.flush.failures} and the {@code audit.flush.latency} timer.
+ * <p>
+ * Not available with the in-memory user store ({@code memory} profile), which runs without
+ * MongoDB.
+ */
+
+@Slf4j
+@Component
+@Profile("!" + InMemoryUserStore.PROFILE)
+public class AuditLog implements SecurityEventListener, DisposableBean {
+
+    private static final Set<SecurityEvent.Type> AUDITED_TYPES = EnumSet.of(
+            SecurityEvent.Type.LOGIN_SUCCEEDED, SecurityEvent.Type.LOGIN_FAILED, SecurityEvent.Type.TOKEN_REFRESHED,
+            SecurityEvent.Type.USER_REGISTERED, SecurityEvent.Type.USER_DELETED);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final AuditProperties properties;
+    private final Queue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Sinks.Many<Boolean> flushRequests = Sinks.many().multicast().directBestEffort();
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failures;
+    private final Timer flushLatency;
+    private final Disposable writer;
+    private volatile boolean collectionReady;
+
+    @Autowired
+    public AuditLog(ReactiveMongoTemplate reactiveMongoTemplate, AuditProperties properties, MeterRegistry meterRegistry) {
+        this(reactiveMongoTemplate, properties, meterRegistry, Schedulers.parallel());
+    }
+
+    AuditLog(ReactiveMongoTemplate reactiveMongoTemplate, AuditProperties properties, MeterRegistry meterRegistry,
+             Scheduler timer) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = properties;
+        this.written = Counter.builder("audit.events.written")
+                .description("Audit events written to Mongo")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the queue was full")
+                .register(meterRegistry);
+        this.failures = Counter.builder("audit.flush.failures")
+                .description("Audit batches that could not be written")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("audit.flush.latency")
+                .description("Time taken to write one batch of audit events")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.depth", depth, AtomicInteger::get)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writer = Flux.merge(Flux.interval(properties.getFlushInterval(), timer), flushRequests.asFlux())
+                .onBackpressureDrop()
+                .concatMap(tick -> flushAll(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void onEvent(SecurityEvent event) {
+        if (AUDITED_TYPES.contains(event.type())) {
+            enqueue(AuditEvent.from(event));
+        }
+    }
+
+    /**
+     * Current number of events waiting to be written.
+     */
+    public int depth() {
+        return depth.get();
+    }
+
+    @Override
+    public void destroy() {
+        writer.dispose();
+        try {
+            flushAll().block(properties.getShutdownTimeout());
+        } catch (RuntimeException ex) {
+            log.warn("Audit log not fully flushed on shutdown, {} events lost: {}", depth.get(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes batches until the queue is empty or a batch fails.
+     */
+    Mono<Void> flushAll() {
+        return Mono.defer(this::flushBatch)
+                .flatMap(batchWritten -> batchWritten && depth.get() > 0 ? flushAll() : Mono.<Void>empty());
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (offer(event) >= properties.getBatchSize()) {
+            flushRequests.tryEmitNext(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Appends the event, dropping the oldest one when the queue is full.
+     *
+     * @return the queue depth after the append.
+     */
+    private int offer(AuditEvent event) {
+        queue.offer(event);
+        int size = depth.incrementAndGet();
+        if (size > properties.getCapacity() && queue.poll() != null) {
+            dropped.increment();
+            return depth.decrementAndGet();
+        }
+        return size;
+    }
+
+    /**
+     * Writes one batch; emits whether a batch was written, or nothing when the queue was empty.
+     */
+    private Mono<Boolean> flushBatch() {
+        List<AuditEvent> batch = new ArrayList<>(Math.min(depth.get(), properties.getBatchSize()));
+        AuditEvent event;
+        while (batch.size() < properties.getBatchSize() && (event = queue.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        long start = System.nanoTime();
+        return ensureCollection()
+                .then(reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, AuditEvent.class, properties.getCollection())
+                        .insert(batch)
+                        .execute())
+                .map(result -> {
+                    flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    written.increment(batch.size());
+                    return true;
+                })
+                .onErrorResume(error -> {
+                    failures.increment();
+                    log.error("Error writing {} audit events, retrying on the next flush: {}", batch.size(), error.getMessage());
+                    batch.forEach(this::offer);
+                    return Mono.just(false);
+                });
+    }
+
+    private Mono<Void> ensureCollection() {
+        if (collectionReady) {
+            return Mono.empty();
+        }
+        String collection = properties.getCollection();
+        return reactiveMongoTemplate.collectionExists(collection)
+                .flatMap(exists -> exists
+                        ? Mono.empty()
+                        : reactiveMongoTemplate.createCollection(collection,
+                                CollectionOptions.empty().capped().size(properties.getCappedSizeBytes())).then())
+                .doOnSuccess(ignored -> collectionReady = true)
+                .onErrorResume(error -> {
+                    log.warn("Could not create capped audit collection {}: {}", collection, error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,89 @@
+package com.dataprogramming.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * {@link SharedCache} kept in the memory of the current JVM.
+ * <p>
+ * Stands in for the networked store in single-node deployments and tests: values are kept
+ * by reference in a Caffeine cache bounded to a maximum number of entries, each one expiring
+ * after its own time to live whether or not it is read again, and messages are multicast to
+ * the local subscribers only.
+ */
+public class InMemorySharedCache implements SharedCache {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final Cache<String, Entry> entries;
+    private final Sinks.Many<Message> messages = Sinks.many().multicast().directBestEffort();
+
+    public InMemorySharedCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public InMemorySharedCache(long maximumSize) {
+        this(maximumSize, Ticker.systemTicker(), Scheduler.systemScheduler());
+    }
+
+    InMemorySharedCache(long maximumSize, Ticker ticker, Scheduler scheduler) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.writing((String key, Entry entry) -> entry.timeToLive()))
+                .ticker(ticker)
+                .scheduler(scheduler)
+                .build();
+    }
+
+    @Override
+    public <T> Mono<T> get(String key, Class<T> type) {
+        return Mono.fromSupplier(() -> {
+            Entry entry = entries.getIfPresent(key);
+            return entry != null ? type.cast(entry.value()) : null;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String key, Object value, Duration timeToLive) {
+        return Mono.fromRunnable(() -> entries.put(key, new Entry(value, timeToLive)));
+    }
+
+    @Override
+    public Mono<Void> evict(String key) {
+        return Mono.fromRunnable(() -> entries.invalidate(key));
+    }
+
+    /**
+     * Number of entries kept, after removing the expired ones.
+     */
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    @Override
+    public Mono<Void> publish(String channel, String message) {
+        return Mono.fromRunnable(() -> messages.emitNext(new Message(channel, message), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))));
+    }
+
+    @Override
+    public Flux<String> subscribe(String channel) {
+        return messages.asFlux()
+                .filter(message -> message.channel().equals(channel))
+                .map(Message::payload);
+    }
+
+    private record Entry(Object value, Duration timeToLive) {
+    }
+
+    private record Message(String channel, String payload) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.dataprogramming.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, in-process set of keys known to have no value, such as user names that do not exist.
+ * <p>
+ * Entries expire after a fixed time to live and the least used ones are dropped beyond the
+ * maximum size, so a flood of distinct unknown keys cannot grow it without limit; eviction runs on the calling
+ * thread, which keeps the bound strict.
+ * {@link #invalidate(String)} publishes the key on {@value TwoTierCache#INVALIDATION_CHANNEL}
+ * of the {@link SharedCache}, so every replica forgets it once a value exists. A lookup that
+ * overlaps an invalidation does not record its key (see {@link #generation()}).
+ */
+@Slf4j
+public class NegativeCache implements DisposableBean {
+
+    private final String name;
+    private final SharedCache sharedCache;
+    private final Cache<String, Boolean> keys;
+    private final AtomicLong generation = new AtomicLong();
+    private final Disposable invalidations;
+    private final Counter hits;
+
+    public NegativeCache(String name, long maximumSize, Duration timeToLive, SharedCache sharedCache,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.sharedCache = sharedCache;
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .build();
+        this.hits = Counter.builder("auth.cache.requests")
+                .description("Lookups served by each level of the two-tier cache")
+                .tag("cache", name)
+                .tag("result", "negative_hit")
+                .register(meterRegistry);
+        String prefix = name + ":";
+        this.invalidations = sharedCache.subscribe(TwoTierCache.INVALIDATION_CHANNEL)
+                .filter(message -> message.startsWith(prefix))
+                .subscribe(message -> forget(message.substring(prefix.length())),
+                        error -> log.error("Invalidation subscription of cache {} failed: {}", name, error.getMessage()));
+    }
+
+    /**
+     * Whether the key is currently known to have no value.
+     */
+    public boolean contains(String key) {
+        if (keys.getIfPresent(key) == null) {
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Current invalidation generation, to be read before the lookup whose result is recorded
+     * with {@link #add(String, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Records the key as having no value, unless an invalidation happened since the lookup
+     * started at the given generation.
+     */
+    public void add(String key, long lookupGeneration) {
+        if (generation.get() == lookupGeneration) {
+            keys.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets the key on every replica.
+     */
+    public Mono<Void> invalidate(String key) {
+        return Mono.fromRunnable(() -> forget(key))
+                .then(Mono.defer(() -> sharedCache.publish(TwoTierCache.INVALIDATION_CHANNEL, name + ":" + key)))
+                .onErrorResume(error -> {
+                    log.warn("Shared cache invalidation failed for {}: {}", name, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void destroy() {
+        invalidations.dispose();
+    }
+
+    private void forget(String key) {
+        generation.incrementAndGet();
+        keys.invalidate(key);
+    }
+}
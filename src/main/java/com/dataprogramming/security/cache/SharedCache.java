@@ -0,0 +1,43 @@
+package com.dataprogramming.security.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Second-level cache shared by every replica of the service, plus the pub/sub channel used
+ * to tell the replicas to drop their local copies.
+ * <p>
+ * The only implementation shipped is {@link InMemorySharedCache}, which is what single-node
+ * deployments and tests use; a networked store (Redis, Hazelcast, ...) is plugged in by
+ * declaring another bean of this type. Implementations that serialize values must be able to
+ * restore them as the requested type.
+ */
+public interface SharedCache {
+
+    /**
+     * Returns the cached value for the key, or an empty {@link Mono} when absent or expired.
+     */
+    <T> Mono<T> get(String key, Class<T> type);
+
+    /**
+     * Stores a value that expires after the given time to live.
+     */
+    Mono<Void> put(String key, Object value, Duration timeToLive);
+
+    /**
+     * Removes the value stored for the key, if any.
+     */
+    Mono<Void> evict(String key);
+
+    /**
+     * Publishes a message to every current subscriber of the channel, on every replica.
+     */
+    Mono<Void> publish(String channel, String message);
+
+    /**
+     * Hot stream of the messages published to the channel from now on.
+     */
+    Flux<String> subscribe(String channel);
+}
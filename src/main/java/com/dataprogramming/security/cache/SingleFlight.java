@@ -0,0 +1,89 @@
+package com.dataprogramming.security.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent lookups of the same key into a single in-flight {@link Mono}.
+ * <p>
+ * The first subscriber for a key subscribes to the loader; subscribers arriving while it is
+ * still running join that call and receive the same value, empty completion or error. The key
+ * is released as soon as the call terminates, so results are never reused afterwards (that is
+ * the job of {@link TwoTierCache}). A subscriber that cancels only leaves the call; the loader
+ * itself is cancelled once every subscriber has cancelled.
+ * <p>
+ * Counts the executed and coalesced lookups in {@code auth.lookup.requests} and publishes the
+ * share of coalesced lookups as {@code auth.lookup.coalescing.ratio}.
+ *
+ * @param <K> type of the lookup keys.
+ * @param <V> type of the looked up values.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = counter(meterRegistry, name, "executed");
+        this.coalesced = counter(meterRegistry, name, "coalesced");
+        Gauge.builder("auth.lookup.coalescing.ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of lookups served by joining an identical in-flight lookup")
+                .tag("lookup", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the loader for the key, or joins the call already in flight for it.
+     *
+     * @param key    lookup key.
+     * @param loader source of the value, subscribed at most once per concurrent burst.
+     * @return the shared result of the lookup.
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            Mono<V> call = inFlight.computeIfAbsent(key, k -> {
+                created.set(newCall(k, loader));
+                return created.get();
+            });
+            (call == created.get() ? executed : coalesced).increment();
+            return call;
+        });
+    }
+
+    /**
+     * Share of the lookups so far that joined a call already in flight, between 0 and 1.
+     */
+    public double coalescingRatio() {
+        double total = executed.count() + coalesced.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    private Mono<V> newCall(K key, Supplier<Mono<V>> loader) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        // released before the result reaches any subscriber, so follow-up lookups start a new call
+        Runnable release = () -> inFlight.remove(key, self.get());
+        Mono<V> call = Mono.defer(loader)
+                .doOnTerminate(release)
+                .doOnCancel(release)
+                .share();
+        self.set(call);
+        return call;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("auth.lookup.requests")
+                .description("Lookups executed against the repository or coalesced into one in flight")
+                .tag("lookup", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,198 @@
+package com.dataprogramming.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with an in-process first level (Caffeine) in front of a {@link SharedCache}.
+ * <p>
+ * Lookups are served from L1, then L2, and only on a double miss from the loader, whose result
+ * is written to both levels. {@link #invalidate(String)} drops the key from L2 and publishes it
+ * on {@value #INVALIDATION_CHANNEL}, so every replica (this one included) evicts its L1 copy.
+ * A lookup that overlaps an invalidation of any key, on this replica or another one, does not
+ * cache what it read, so a value deleted or updated during the load is not cached again.
+ * Entries expire after a per-value time to live; values with no time left are not cached.
+ * Failures of the shared level are logged and treated as misses, never surfaced to callers.
+ *
+ * @param <V> type of the cached values.
+ */
+@Slf4j
+public class TwoTierCache<V> implements DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "cache-invalidation";
+
+    private final String name;
+    private final Class<V> type;
+    private final SharedCache sharedCache;
+    private final Function<V, Duration> timeToLive;
+    private final Cache<String, V> localCache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Disposable invalidations;
+    private final Counter localHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public TwoTierCache(String name, Class<V> type, long maximumSize, Function<V, Duration> timeToLive,
+                        SharedCache sharedCache, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.sharedCache = sharedCache;
+        this.timeToLive = timeToLive;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TimeToLiveExpiry())
+                .build();
+        this.localHits = counter(meterRegistry, "l1_hit");
+        this.sharedHits = counter(meterRegistry, "l2_hit");
+        this.misses = counter(meterRegistry, "miss");
+        String prefix = name + ":";
+        this.invalidations = sharedCache.subscribe(INVALIDATION_CHANNEL)
+                .filter(message -> message.startsWith(prefix))
+                .subscribe(message -> forget(message.substring(prefix.length())),
+                        error -> log.error("Invalidation subscription of cache {} failed: {}", name, error.getMessage()));
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss of both levels.
+     *
+     * @param key    cache key.
+     * @param loader source of the value; an empty result is not cached.
+     * @return the value, or an empty {@link Mono} when the loader has none.
+     */
+    public Mono<V> get(String key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            V local = localCache.getIfPresent(key);
+            if (local != null) {
+                localHits.increment();
+                return Mono.just(local);
+            }
+            long lookupGeneration = generation.get();
+            return sharedCache.get(sharedKey(key), type)
+                    .onErrorResume(error -> {
+                        log.warn("Shared cache read failed for {}: {}", name, error.getMessage());
+                        return Mono.empty();
+                    })
+                    .doOnNext(value -> {
+                        sharedHits.increment();
+                        if (generation.get() == lookupGeneration) {
+                            putLocal(key, value);
+                        }
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        misses.increment();
+                        return loader.get().flatMap(value -> putLoaded(key, value, lookupGeneration).thenReturn(value));
+                    }));
+        });
+    }
+
+    /**
+     * Writes the value to both levels, replacing what was cached for the key.
+     */
+    public Mono<Void> put(String key, V value) {
+        return Mono.defer(() -> putShared(key, value));
+    }
+
+    /**
+     * Drops the key from the shared level and from the local level of every replica.
+     */
+    public Mono<Void> invalidate(String key) {
+        return Mono.defer(() -> {
+                    forget(key);
+                    return sharedCache.evict(sharedKey(key));
+                })
+                .then(Mono.defer(() -> sharedCache.publish(INVALIDATION_CHANNEL, sharedKey(key))))
+                .onErrorResume(error -> {
+                    log.warn("Shared cache invalidation failed for {}: {}", name, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void destroy() {
+        invalidations.dispose();
+    }
+
+    /**
+     * Caches a loaded value unless an invalidation happened since the lookup started at the
+     * given generation; one that arrives while the value is being written removes it again.
+     */
+    private Mono<Void> putLoaded(String key, V value, long lookupGeneration) {
+        if (generation.get() != lookupGeneration) {
+            return Mono.empty();
+        }
+        return putShared(key, value).then(Mono.defer(() -> {
+            if (generation.get() == lookupGeneration) {
+                return Mono.empty();
+            }
+            localCache.invalidate(key);
+            return sharedCache.evict(sharedKey(key)).onErrorResume(error -> Mono.empty());
+        }));
+    }
+
+    private void forget(String key) {
+        generation.incrementAndGet();
+        localCache.invalidate(key);
+    }
+
+    private Mono<Void> putShared(String key, V value) {
+        Duration ttl = timeToLive.apply(value);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.empty();
+        }
+        localCache.put(key, value);
+        return sharedCache.put(sharedKey(key), value, ttl)
+                .onErrorResume(error -> {
+                    log.warn("Shared cache write failed for {}: {}", name, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void putLocal(String key, V value) {
+        Duration ttl = timeToLive.apply(value);
+        if (!ttl.isNegative() && !ttl.isZero()) {
+            localCache.put(key, value);
+        }
+    }
+
+    private String sharedKey(String key) {
+        return name + ":" + key;
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.cache.requests")
+                .description("Lookups served by each level of the two-tier cache")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private final class TimeToLiveExpiry implements Expiry<String, V> {
+
+        @Override
+        public long expireAfterCreate(String key, V value, long currentTime) {
+            return timeToLive.apply(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+            return timeToLive.apply(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
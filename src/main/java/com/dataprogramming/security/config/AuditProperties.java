@@ -0,0 +1,31 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the audit log.
+ * <p>
+ * This class maps the properties defined under the "audit" prefix: the capacity of the
+ * in-memory queue (the oldest events are dropped beyond it), the number of events written per
+ * unordered insert, the maximum time an event waits before being flushed, the capped
+ * collection that receives them and its size in bytes, and how long shutdown waits for the
+ * last flush.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    private int capacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private String collection = "audit_log";
+    private long cappedSizeBytes = 256L * 1024 * 1024;
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
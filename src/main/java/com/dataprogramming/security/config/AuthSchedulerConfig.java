@@ -0,0 +1,34 @@
+package com.dataprogramming.security.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler configuration for the blocking stages of the authentication flow.
+ * <p>
+ * BCrypt hashing/matching and JWT signing are CPU-bound and must not run on the
+ * Netty event-loop threads. By default they are offloaded to Reactor's bounded elastic
+ * scheduler; when the application runs on Java 21 with {@code spring.threads.virtual.enabled=true}
+ * (see the {@code java21} Maven profile) a virtual-thread-per-task executor is used instead.
+ */
+
+@Configuration
+public class AuthSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler virtualThreadAuthScheduler() {
+        return Schedulers.fromExecutor(new VirtualThreadTaskExecutor("auth-vt-"));
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler boundedElasticAuthScheduler() {
+        return Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,87 @@
+package com.dataprogramming.security.config;
+
+import com.dataprogramming.security.cache.InMemorySharedCache;
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.cache.SharedCache;
+import com.dataprogramming.security.cache.SingleFlight;
+import com.dataprogramming.security.cache.TwoTierCache;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.UserResponse;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Cache configuration for user lookups and token verification.
+ * <p>
+ * Declares the {@link SharedCache} (in memory unless another implementation is provided), the
+ * three {@link TwoTierCache} instances built on top of it (users by name, verified token claims
+ * by token, user versions by id), the {@link NegativeCache} of unknown user names and the
+ * {@link SingleFlight} beans that coalesce concurrent lookups of the same user.
+ */
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_CACHE = "users";
+    public static final String TOKEN_CACHE = "tokens";
+    public static final String UNKNOWN_USER_CACHE = "unknown-users";
+    public static final String USER_VERSION_CACHE = "user-versions";
+    public static final String USER_NAME_LOOKUP = "user-by-name";
+    public static final String USER_ID_LOOKUP = "user-by-id";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedCache sharedCache(CacheProperties properties) {
+        return new InMemorySharedCache(properties.getSharedMaximumSize());
+    }
+
+    @Bean
+    public TwoTierCache<User> userCache(CacheProperties properties, SharedCache sharedCache, MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(USER_CACHE, User.class, properties.getLocalMaximumSize(),
+                user -> properties.getUserTtl(), sharedCache, meterRegistry);
+    }
+
+    @Bean
+    public TwoTierCache<Claims> tokenCache(CacheProperties properties, SharedCache sharedCache, MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(TOKEN_CACHE, Claims.class, properties.getLocalMaximumSize(),
+                claims -> tokenTimeToLive(claims, properties.getTokenTtl(), Clock.systemUTC()), sharedCache, meterRegistry);
+    }
+
+    @Bean
+    public TwoTierCache<Long> userVersionCache(CacheProperties properties, SharedCache sharedCache,
+                                               MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(USER_VERSION_CACHE, Long.class, properties.getLocalMaximumSize(),
+                version -> properties.getUserVersionTtl(), sharedCache, meterRegistry);
+    }
+
+    @Bean
+    public NegativeCache unknownUsers(CacheProperties properties, SharedCache sharedCache, MeterRegistry meterRegistry) {
+        return new NegativeCache(UNKNOWN_USER_CACHE, properties.getUnknownUserMaximumSize(),
+                properties.getUnknownUserTtl(), sharedCache, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, User> userNameLookups(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(USER_NAME_LOOKUP, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<String, UserResponse> userIdLookups(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(USER_ID_LOOKUP, meterRegistry);
+    }
+
+    static Duration tokenTimeToLive(Claims claims, Duration maximum, Clock clock) {
+        if (claims.getExpiration() == null) {
+            return maximum;
+        }
+        Duration remaining = Duration.between(clock.instant(), Instant.ofEpochMilli(claims.getExpiration().getTime()));
+        return remaining.compareTo(maximum) < 0 ? remaining : maximum;
+    }
+}
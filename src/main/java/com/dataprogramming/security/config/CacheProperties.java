@@ -0,0 +1,31 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the authentication caches.
+ * <p>
+ * This class maps the properties defined under the "auth-cache" prefix: the size of each
+ * in-process cache and of the in-memory shared cache, and how long users, verified tokens,
+ * unknown user names and user versions stay cached. Verified tokens never outlive their own
+ * expiration.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth-cache")
+public class CacheProperties {
+    private long localMaximumSize = 10_000;
+    private Duration userTtl = Duration.ofMinutes(5);
+    private Duration tokenTtl = Duration.ofMinutes(5);
+    private long unknownUserMaximumSize = 10_000;
+    private Duration unknownUserTtl = Duration.ofMinutes(1);
+    private Duration userVersionTtl = Duration.ofMinutes(5);
+    private long sharedMaximumSize = 100_000;
+}
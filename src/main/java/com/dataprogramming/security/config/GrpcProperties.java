@@ -0,0 +1,30 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the gRPC token introspection server.
+ * <p>
+ * This class maps the properties defined under the "grpc" prefix: whether the server is
+ * started, its port (0 picks a free one), the largest request message accepted, how many tokens
+ * of a batch stream are verified at the same time, and how long shutdown waits for the calls
+ * in flight.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "grpc")
+public class GrpcProperties {
+    private boolean enabled = true;
+    private int port = 9010;
+    private DataSize maxInboundMessageSize = DataSize.ofKilobytes(64);
+    private int batchConcurrency = 64;
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
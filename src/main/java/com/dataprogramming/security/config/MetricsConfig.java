@@ -0,0 +1,30 @@
+package com.dataprogramming.security.config;
+
+import com.dataprogramming.security.metrics.AuthOutcomeObservationConvention;
+import com.dataprogramming.security.metrics.RouteSloMeterFilter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationConvention;
+
+/**
+ * Metrics configuration for the HTTP server requests.
+ * <p>
+ * Registers the {@link RouteSloMeterFilter} (percentile histograms and SLO buckets for the
+ * routes listed under {@code slo.routes}) and replaces the default server request convention
+ * with {@link AuthOutcomeObservationConvention}, which adds the {@code auth.outcome} tag.
+ */
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter routeSloMeterFilter(SloProperties properties) {
+        return new RouteSloMeterFilter(properties);
+    }
+
+    @Bean
+    public ServerRequestObservationConvention authOutcomeObservationConvention() {
+        return new AuthOutcomeObservationConvention();
+    }
+}
@@ -0,0 +1,33 @@
+package com.dataprogramming.security.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB client configuration.
+ * <p>
+ * Applies the pool and socket settings from {@link MongoPoolProperties} to the reactive
+ * MongoClient. Pool and command-latency metrics are bound to Micrometer by Spring Boot's
+ * Mongo metrics auto-configuration through the same customizer chain.
+ */
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MongoPoolProperties properties) {
+        return builder -> builder
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(properties.getMinSize())
+                        .maxSize(properties.getMaxSize())
+                        .maxWaitTime(properties.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(properties.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(properties.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(Math.toIntExact(properties.getConnectTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                        .readTimeout(Math.toIntExact(properties.getReadTimeout().toMillis()), TimeUnit.MILLISECONDS));
+    }
+}
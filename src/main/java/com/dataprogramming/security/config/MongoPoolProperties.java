@@ -0,0 +1,29 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the reactive MongoDB driver connection pool.
+ * <p>
+ * This class maps the properties defined under the "mongodb.pool" prefix and
+ * exposes the pool size, wait queue and socket timeouts applied to the MongoClient.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "mongodb.pool")
+public class MongoPoolProperties {
+    private int minSize = 0;
+    private int maxSize = 100;
+    private Duration maxWaitTime = Duration.ofSeconds(2);
+    private Duration maxConnectionIdleTime = Duration.ofMinutes(5);
+    private Duration maxConnectionLifeTime = Duration.ZERO;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(5);
+}
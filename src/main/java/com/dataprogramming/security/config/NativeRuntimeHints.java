@@ -0,0 +1,84 @@
+package com.dataprogramming.security.config;
+
+import com.dataprogramming.security.audit.AuditEvent;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.model.AuthRequest;
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.RegisterResponse;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.UserResponse;
+import net.logstash.logback.appender.LogstashTcpSocketAppender;
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
+import net.logstash.logback.composite.loggingevent.LoggingEventThreadNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackTraceJsonProvider;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the GraalVM native image.
+ * <p>
+ * jjwt-api instantiates its jjwt-impl/jjwt-jackson implementations by class name, the
+ * logstash encoder is configured reflectively by Logback from logback-spring.xml, and the
+ * request/response models (including Mongo projections) are bound by Jackson and Spring Data.
+ */
+
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    private static final List<Class<?>> LOGSTASH_TYPES = List.of(
+            LogstashTcpSocketAppender.class,
+            LoggingEventCompositeJsonEncoder.class,
+            LoggingEventJsonProviders.class,
+            LoggingEventFormattedTimestampJsonProvider.class,
+            LogLevelJsonProvider.class,
+            LoggingEventThreadNameJsonProvider.class,
+            LoggerNameJsonProvider.class,
+            MessageJsonProvider.class,
+            StackTraceJsonProvider.class,
+            MdcJsonProvider.class);
+
+    private static final Class<?>[] MODEL_TYPES = {
+            User.class, AuthRequest.class, AuthResponse.class, ImportResult.class, RegisterRequest.class,
+            RegisterResponse.class, TokenData.class, TokenResponse.class, UserResponse.class, SecurityEvent.class,
+            AuditEvent.class};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        JJWT_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+        Stream.of("io.jsonwebtoken.CompressionCodec", "io.jsonwebtoken.io.Serializer", "io.jsonwebtoken.io.Deserializer")
+                .forEach(service -> hints.resources().registerPattern("META-INF/services/" + service));
+
+        LOGSTASH_TYPES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), MODEL_TYPES);
+    }
+}
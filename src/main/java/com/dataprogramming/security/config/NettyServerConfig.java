@@ -0,0 +1,87 @@
+package com.dataprogramming.security.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Reactor Netty server configuration.
+ * <p>
+ * Applies {@link NettyServerProperties} to the embedded server. With h2c enabled the port
+ * accepts both HTTP/1.1 and cleartext HTTP/2 (prior knowledge or upgrade), so the gateway can
+ * multiplex its {@code /auth/validate} calls over a few connections instead of opening one per
+ * in-flight request. The customizer runs after Spring Boot's own server settings, so these
+ * properties take precedence over {@code server.http2.*} and {@code server.compression.*}.
+ */
+
+@Configuration
+public class NettyServerConfig {
+
+    static final String EVENT_LOOP_PREFIX = "auth-http";
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnExpression("${netty-server.event-loop-threads:0} > 0")
+    public LoopResources nettyServerLoopResources(NettyServerProperties properties) {
+        return LoopResources.create(EVENT_LOOP_PREFIX, properties.getEventLoopThreads(), true);
+    }
+
+    @Bean
+    public NettyServerCustomizer nettyServerCustomizer(NettyServerProperties properties,
+                                                       ObjectProvider<LoopResources> loopResources) {
+        LoopResources loops = loopResources.getIfAvailable();
+        return httpServer -> {
+            httpServer = httpServer
+                    .idleTimeout(properties.getIdleTimeout())
+                    .maxKeepAliveRequests(properties.getMaxKeepAliveRequests())
+                    .childOption(ChannelOption.SO_KEEPALIVE, properties.isTcpKeepAlive());
+            if (properties.isH2c()) {
+                httpServer = httpServer
+                        .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                        .http2Settings(settings -> settings.maxConcurrentStreams(properties.getMaxConcurrentStreams()));
+            }
+            if (loops != null) {
+                httpServer = httpServer.runOn(loops);
+            }
+            NettyServerProperties.Compression compression = properties.getCompression();
+            return compression.isEnabled()
+                    ? httpServer.compress(compressionPredicate(compression))
+                    : httpServer.compress(false);
+        };
+    }
+
+    static BiPredicate<HttpServerRequest, HttpServerResponse> compressionPredicate(
+            NettyServerProperties.Compression compression) {
+        List<MimeType> mimeTypes = compression.getMimeTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+        long minResponseSize = compression.getMinResponseSize().toBytes();
+        return (request, response) -> {
+            String contentType = response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE);
+            if (contentType == null) {
+                return false;
+            }
+            try {
+                MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+                if (mimeTypes.stream().noneMatch(candidate -> candidate.isCompatibleWith(mimeType))) {
+                    return false;
+                }
+                String contentLength = response.responseHeaders().get(HttpHeaderNames.CONTENT_LENGTH);
+                return contentLength == null || Long.parseLong(contentLength) >= minResponseSize;
+            } catch (InvalidMimeTypeException | NumberFormatException ex) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the embedded Reactor Netty server.
+ * <p>
+ * This class maps the properties defined under the "netty-server" prefix: whether cleartext
+ * HTTP/2 (h2c) is accepted next to HTTP/1.1 and how many streams a single connection may
+ * multiplex, the number of event-loop threads (0 keeps Reactor Netty's default of one per
+ * core), how long an idle connection is kept open, how many requests an HTTP/1.1 connection
+ * may serve (-1 for no limit), whether TCP keepalive probes are sent, and the response
+ * compression settings.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "netty-server")
+public class NettyServerProperties {
+    private boolean h2c = true;
+    private long maxConcurrentStreams = 256;
+    private int eventLoopThreads = 0;
+    private Duration idleTimeout = Duration.ofSeconds(60);
+    private int maxKeepAliveRequests = -1;
+    private boolean tcpKeepAlive = true;
+    private Compression compression = new Compression();
+
+    /**
+     * Responses are compressed only when their {@code Content-Type} is one of the mime types
+     * and their {@code Content-Length} is unknown or at least the minimum size.
+     */
+    @Getter
+    @Setter
+    public static class Compression {
+        private boolean enabled = true;
+        private DataSize minResponseSize = DataSize.ofKilobytes(2);
+        private List<String> mimeTypes = new ArrayList<>(List.of(
+                "application/json", "application/x-ndjson", "application/problem+json", "text/plain"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the on-demand JDK Flight Recorder recordings.
+ * <p>
+ * This class maps the properties defined under the "profiling" prefix: the duration of a
+ * recording when none is requested and the longest one allowed, the CPU sampling period, the
+ * number of allocation samples taken per second, and the minimum duration of the
+ * authentication stage events that are recorded.
+ * <p>
+ * The sampling rates are unset by default, which keeps the values of the JDK "default" profile
+ * (20 ms and 150/s). Setting them finer, e.g. 10 ms and 300/s, gives more samples per short
+ * recording at roughly twice the sampling overhead of that profile.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "profiling")
+public class ProfilingProperties {
+    private Duration defaultDuration = Duration.ofSeconds(60);
+    private Duration maxDuration = Duration.ofMinutes(10);
+    private Duration executionSamplePeriod;
+    private Integer allocationSamplesPerSecond;
+    private Duration stageThreshold = Duration.ZERO;
+}
@@ -1,26 +1,44 @@
 package com.dataprogramming.security.config;
 
+import com.dataprogramming.security.config.authorization.RouteAuthorizationManager;
 import com.dataprogramming.security.config.filter.JwtAuthenticationFilter;
+import com.dataprogramming.security.security.model.RegisterRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.util.ClassUtils;
 
 /**
  * Security configuration for the WebFlux application.
  * <p>
  * This class defines the security filter chain, including the integration
- * of a custom filter for JWT authentication and the configuration of public and protected routes.
+ * of a custom filter for JWT authentication and the role-based rules of each route, evaluated by a
+ * {@link RouteAuthorizationManager} from the authorities of the token.
+ * Registration is public, but only an administrator may choose the role of the new users
+ * ({@link com.dataprogramming.security.config.authorization.RoleAssignment}).
+ * The OpenAPI/Swagger routes are only permitted when springdoc is on the classpath (dev and
+ * openapi Maven profiles); production builds do not ship it and keep those routes protected.
  */
 
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    private static final String SPRINGDOC_CONFIGURATION = "org.springdoc.core.configuration.SpringDocConfiguration";
+    private static final String[] PUBLIC_AUTH_PATHS = {"/auth/register", "/auth/login", "/auth/validate", "/auth/refresh"};
+    private static final String ADMIN = RegisterRequest.EnumRole.ROLE_ADMIN.name();
+    private static final String READ = RegisterRequest.EnumRole.ROLE_READ.name();
+    private static final String WRITE = RegisterRequest.EnumRole.ROLE_WRITE.name();
+    private static final String[] API_DOCS_PATHS = {
+            "/swagger-ui.html", "/swagger-ui/**", "/webjars/swagger-ui/**", "/v3/api-docs/**"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -32,14 +50,41 @@ public class SecurityConfig {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers("/auth/**", "swagger-ui/**", "/v3/api-docs/**", "/actuator/**")
-                        .permitAll()
-                        .anyExchange().authenticated()
+                        .anyExchange().access(routeAuthorizationManager(isApiDocsPresent()))
                 )
                 .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
                 .build();
     }
 
+    /**
+     * Builds the route table: the token endpoints, actuator (except the profiling endpoint, which
+     * requires ROLE_ADMIN) and (when present) the API docs are public; reading users requires ROLE_ADMIN or ROLE_READ, importing them ROLE_ADMIN or
+     * ROLE_WRITE, and deleting them or streaming security events ROLE_ADMIN. Any other route
+     * requires an authenticated user.
+     *
+     * @param apiDocsPresent whether springdoc is available and its routes must be exposed.
+     * @return the authorization manager for every exchange.
+     */
+    static RouteAuthorizationManager routeAuthorizationManager(boolean apiDocsPresent) {
+        RouteAuthorizationManager.Builder routes = RouteAuthorizationManager.builder()
+                .permitAll(HttpMethod.POST, PUBLIC_AUTH_PATHS)
+                .permitAll(null, "/actuator/**")
+                .hasAnyAuthority(null, "/actuator/profiling", ADMIN)
+                .hasAnyAuthority(HttpMethod.GET, "/auth/users", ADMIN, READ)
+                .hasAnyAuthority(HttpMethod.GET, "/auth/users/{id}", ADMIN, READ)
+                .hasAnyAuthority(HttpMethod.DELETE, "/auth/users/{id}", ADMIN)
+                .hasAnyAuthority(HttpMethod.POST, "/auth/users/import", ADMIN, WRITE)
+                .hasAnyAuthority(HttpMethod.GET, "/auth/events", ADMIN);
+        if (apiDocsPresent) {
+            routes.permitAll(HttpMethod.GET, API_DOCS_PATHS);
+        }
+        return routes.build();
+    }
+
+    static boolean isApiDocsPresent() {
+        return ClassUtils.isPresent(SPRINGDOC_CONFIGURATION, SecurityConfig.class.getClassLoader());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
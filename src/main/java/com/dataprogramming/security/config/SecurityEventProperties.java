@@ -0,0 +1,21 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the security event stream.
+ * <p>
+ * This class maps the properties defined under the "security-events" prefix:
+ * the number of events buffered per subscriber before the oldest ones are dropped.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security-events")
+public class SecurityEventProperties {
+    private int bufferSize = 256;
+}
@@ -0,0 +1,45 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the latency objectives of the HTTP routes.
+ * <p>
+ * This class maps the properties defined under the "slo" prefix: the window over which the burn
+ * rate is computed, how often the request counters are sampled, the burn rate from which a route
+ * is reported as alerting, and the objective of each route keyed by its URI template (the
+ * {@code uri} tag of {@code http.server.requests}).
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "slo")
+public class SloProperties {
+    private Duration window = Duration.ofMinutes(5);
+    private Duration sampleInterval = Duration.ofSeconds(10);
+    private double alertBurnRate = 14.4;
+    private Map<String, Objective> routes = new LinkedHashMap<>();
+
+    /**
+     * Latency objective of one route: {@code target} of the requests must complete without a
+     * server error within {@code latency}. {@code boundaries} adds histogram buckets besides
+     * the objective itself.
+     */
+    @Getter
+    @Setter
+    public static class Objective {
+        private Duration latency = Duration.ofMillis(250);
+        private double target = 0.99;
+        private List<Duration> boundaries = new ArrayList<>();
+    }
+}
@@ -0,0 +1,27 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for tenant routing.
+ * <p>
+ * This class maps the properties defined under the "tenancy" prefix: the request header the
+ * gateway sends the tenant in, and the tenants with a collection of their own (tenant →
+ * collection). Tenants that are not listed, and requests without a tenant, share the
+ * {@code users} collection as the {@code default} tenant.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "tenancy")
+public class TenantProperties {
+    private String header = "X-Tenant-Id";
+    private Map<String, String> collections = new LinkedHashMap<>();
+}
@@ -0,0 +1,23 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the bulk user import.
+ * <p>
+ * This class maps the properties defined under the "user-import" prefix:
+ * the number of records written per unordered insertMany batch and the
+ * number of passwords hashed in parallel on the auth scheduler.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+    private int batchSize = 500;
+    private int hashConcurrency = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,29 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the user stores.
+ * <p>
+ * This class maps the properties defined under the "user-store" prefix: for the in-memory store
+ * ({@code memory} profile), the file the users are snapshotted to and restored from at startup
+ * (no snapshot when empty) and how often a snapshot is written when the users have changed; for
+ * MongoDB, whether the unique user indexes are created once the application is ready and how
+ * long that may take.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "user-store")
+public class UserStoreProperties {
+    private String snapshotPath = "";
+    private Duration snapshotInterval = Duration.ofSeconds(30);
+    private boolean createIndexes = true;
+    private Duration indexTimeout = Duration.ofSeconds(30);
+}
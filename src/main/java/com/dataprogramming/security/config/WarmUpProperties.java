@@ -0,0 +1,28 @@
+package com.dataprogramming.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the startup warm-up.
+ * <p>
+ * This class maps the properties defined under the "warm-up" prefix: how many times the
+ * JWT, Jackson and BCrypt paths are exercised, how many MongoDB connections are opened and
+ * how long the whole phase may take before the application reports ready anyway.
+ */
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "warm-up")
+public class WarmUpProperties {
+    private boolean enabled = true;
+    private int iterations = 200;
+    private int passwordIterations = 4;
+    private int mongoConnections = 10;
+    private Duration timeout = Duration.ofSeconds(20);
+}
@@ -0,0 +1,128 @@
+package com.dataprogramming.security.config;
+
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.model.AuthRequest;
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.RegisterResponse;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+
+/**
+ * Startup warm-up of the authentication hot paths.
+ * <p>
+ * Runs as an {@link ApplicationRunner}, so Spring Boot only publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC} (and the readiness probe only turns UP) once it
+ * has finished. It exercises token generation/parsing, BCrypt on the auth scheduler, the
+ * Jackson (de)serializers of the auth models and opens MongoDB pool connections (skipped with
+ * the in-memory user store, which has no MongoDB). Failures
+ * are logged and never abort startup.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final String WARM_UP_PASSWORD = "warm-up-password";
+
+    private final WarmUpProperties properties;
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate;
+    private final Scheduler authScheduler;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        step("jwt", this::warmUpJwt);
+        step("jackson", this::warmUpJackson);
+        step("bcrypt", this::warmUpPasswordEncoder);
+        ReactiveMongoTemplate mongoTemplate = reactiveMongoTemplate.getIfAvailable();
+        if (mongoTemplate != null) {
+            step("mongo", () -> warmUpMongo(mongoTemplate));
+        }
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void warmUpJwt() {
+        User user = User.builder()
+                .userName("warm-up")
+                .role(RegisterRequest.EnumRole.ROLE_USER)
+                .enabled(true)
+                .documentType("DNI")
+                .documentNumber("00000000")
+                .build();
+        for (int i = 0; i < properties.getIterations(); i++) {
+            Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(user));
+            claims.getSubject();
+        }
+    }
+
+    void warmUpJackson() throws IOException {
+        TokenData tokenData = new TokenData("token", "warm-up", RegisterRequest.EnumRole.ROLE_USER.name(), true);
+        byte[] authRequest = objectMapper.writeValueAsBytes(new AuthRequest("warm-up", WARM_UP_PASSWORD));
+        byte[] registerRequest = objectMapper.writeValueAsBytes(new RegisterRequest(
+                "DNI", "00000000", "warm-up", WARM_UP_PASSWORD, RegisterRequest.EnumRole.ROLE_USER));
+        for (int i = 0; i < properties.getIterations(); i++) {
+            objectMapper.writeValueAsBytes(new AuthResponse("token"));
+            objectMapper.writeValueAsBytes(new TokenResponse(true, "Valid token", tokenData));
+            objectMapper.writeValueAsBytes(new RegisterResponse("id", "DNI", "00000000", "warm-up",
+                    RegisterRequest.EnumRole.ROLE_USER, true));
+            objectMapper.writeValueAsBytes(new UserResponse("id", "warm-up", "00000000", true, 0L));
+            objectMapper.readValue(authRequest, AuthRequest.class);
+            objectMapper.readValue(registerRequest, RegisterRequest.class);
+        }
+    }
+
+    void warmUpPasswordEncoder() {
+        String hash = passwordEncoder.encode(WARM_UP_PASSWORD);
+        Flux.range(0, properties.getPasswordIterations())
+                .flatMap(i -> Mono.fromCallable(() -> passwordEncoder.matches(WARM_UP_PASSWORD, hash))
+                        .subscribeOn(authScheduler))
+                .blockLast(properties.getTimeout());
+    }
+
+    void warmUpMongo(ReactiveMongoTemplate mongoTemplate) {
+        Flux.range(0, properties.getMongoConnections())
+                .flatMap(i -> mongoTemplate.executeCommand(new Document("ping", 1)))
+                .blockLast(properties.getTimeout());
+    }
+
+    private void step(String name, WarmUpStep warmUpStep) {
+        long start = System.nanoTime();
+        try {
+            warmUpStep.run();
+            log.info("Warm-up step {} completed in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception ex) {
+            log.warn("Warm-up step {} failed: {}", name, ex.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep {
+        void run() throws Exception;
+    }
+}
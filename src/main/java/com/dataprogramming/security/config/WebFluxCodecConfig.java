@@ -0,0 +1,25 @@
+package com.dataprogramming.security.config;
+
+import com.dataprogramming.security.config.codec.AuthResponseJsonEncoder;
+import com.dataprogramming.security.config.codec.TokenValidationCborEncoder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux codec configuration.
+ * <p>
+ * Registers {@link AuthResponseJsonEncoder} as a typed custom codec, which places it ahead of
+ * the default Jackson encoder for the login, validate and refresh responses, and
+ * {@link TokenValidationCborEncoder} for the compact {@code application/cbor} validation result.
+ */
+
+@Configuration
+public class WebFluxCodecConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new AuthResponseJsonEncoder());
+        configurer.customCodecs().register(new TokenValidationCborEncoder());
+    }
+}
@@ -0,0 +1,52 @@
+package com.dataprogramming.security.config.authorization;
+
+import com.dataprogramming.security.security.model.RegisterRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides which roles the caller may give to the users it creates.
+ * <p>
+ * Registration is public, so the role sent by the client cannot be trusted: only a request
+ * authenticated as ROLE_ADMIN may assign a role other than {@link #DEFAULT_ROLE}, both on
+ * register and on import.
+ */
+public final class RoleAssignment {
+
+    public static final RegisterRequest.EnumRole DEFAULT_ROLE = RegisterRequest.EnumRole.ROLE_USER;
+
+    private static final String ADMIN = RegisterRequest.EnumRole.ROLE_ADMIN.name();
+
+    private RoleAssignment() {
+    }
+
+    /**
+     * Whether the current request is authenticated as an administrator.
+     */
+    public static Mono<Boolean> byAdministrator() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(authentication -> authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .anyMatch(ADMIN::equals))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Whether a user with the requested role may be created by the caller.
+     */
+    public static boolean allowed(RegisterRequest.EnumRole requested, boolean administrator) {
+        return administrator || requested == null || requested == DEFAULT_ROLE;
+    }
+
+    /**
+     * Role of a new user: the requested one for administrators, {@link #DEFAULT_ROLE} otherwise.
+     */
+    public static Mono<RegisterRequest.EnumRole> grantedRole(RegisterRequest.EnumRole requested) {
+        return byAdministrator().map(administrator -> administrator && requested != null ? requested : DEFAULT_ROLE);
+    }
+}
@@ -0,0 +1,203 @@
+package com.dataprogramming.security.config.authorization;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Authorizes each exchange with a route table compiled once at startup.
+ * <p>
+ * Routes are registered as path templates made of literal segments, {@code {variable}} segments
+ * and a trailing {@code **}, and are stored in a tree keyed by segment. A request is resolved by
+ * walking the segments of its path (literal segments win over variables, variables over
+ * {@code **}) and picking the rule registered for its HTTP method, so the cost does not grow with
+ * the number of routes. Rules either permit everyone or require one of a set of authorities;
+ * routes without a rule only require an authenticated user. Authorities are read from the
+ * {@link Authentication} built from the JWT claims, with no database access.
+ */
+public final class RouteAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final String CATCH_ALL = "**";
+
+    private final Node root;
+
+    private RouteAuthorizationManager(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, AuthorizationContext context) {
+        Rule rule = resolve(context.getExchange().getRequest().getMethod(),
+                context.getExchange().getRequest().getPath().pathWithinApplication());
+        if (rule.permitAll()) {
+            return Mono.just(GRANTED);
+        }
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .<AuthorizationResult>map(auth -> rule.allows(auth) ? GRANTED : DENIED)
+                .defaultIfEmpty(DENIED);
+    }
+
+    /**
+     * Still abstract in {@link ReactiveAuthorizationManager}, which Spring Security only calls
+     * through {@link #authorize(Mono, AuthorizationContext)}.
+     *
+     * @deprecated use {@link #authorize(Mono, AuthorizationContext)}
+     */
+    @Override
+    @Deprecated
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authorize(authentication, context).map(result -> (AuthorizationDecision) result);
+    }
+
+    /**
+     * Returns the rule that applies to the request, {@link Rule#AUTHENTICATED} when none does.
+     */
+    Rule resolve(HttpMethod method, PathContainer path) {
+        List<String> segments = new ArrayList<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                segments.add(segment.valueToMatch());
+            }
+        }
+        Rule rule = root.find(segments, 0, method);
+        return rule != null ? rule : Rule.AUTHENTICATED;
+    }
+
+    /**
+     * Access rule of a route.
+     *
+     * @param permitAll   whether the route is public.
+     * @param authorities authorities of which the user needs at least one; empty when any
+     *                    authenticated user is allowed.
+     */
+    record Rule(boolean permitAll, Set<String> authorities) {
+
+        static final Rule AUTHENTICATED = new Rule(false, Set.of());
+
+        boolean allows(Authentication authentication) {
+            if (authorities.isEmpty()) {
+                return true;
+            }
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (authorities.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private Node catchAll;
+        private final Map<HttpMethod, Rule> rules = new HashMap<>();
+        private Rule anyMethod;
+
+        private Rule find(List<String> segments, int index, HttpMethod method) {
+            if (index == segments.size()) {
+                Rule rule = ruleFor(method);
+                if (rule != null) {
+                    return rule;
+                }
+            } else {
+                Node literal = literals.get(segments.get(index));
+                Rule rule = literal != null ? literal.find(segments, index + 1, method) : null;
+                if (rule == null && variable != null) {
+                    rule = variable.find(segments, index + 1, method);
+                }
+                if (rule != null) {
+                    return rule;
+                }
+            }
+            return catchAll != null ? catchAll.ruleFor(method) : null;
+        }
+
+        private Rule ruleFor(HttpMethod method) {
+            Rule rule = rules.get(method);
+            return rule != null ? rule : anyMethod;
+        }
+
+        private Node child(String segment) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (variable == null) {
+                    variable = new Node();
+                }
+                return variable;
+            }
+            if (CATCH_ALL.equals(segment)) {
+                if (catchAll == null) {
+                    catchAll = new Node();
+                }
+                return catchAll;
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+
+    /**
+     * Collects the routes of the table. A {@code null} method applies the rule to every method
+     * not registered explicitly for the same path.
+     */
+    public static final class Builder {
+
+        private final Node root = new Node();
+
+        private Builder() {
+        }
+
+        public Builder permitAll(HttpMethod method, String... paths) {
+            return add(method, new Rule(true, Set.of()), paths);
+        }
+
+        public Builder hasAnyAuthority(HttpMethod method, String path, String... authorities) {
+            return add(method, new Rule(false, Set.of(authorities)), path);
+        }
+
+        public RouteAuthorizationManager build() {
+            return new RouteAuthorizationManager(root);
+        }
+
+        private Builder add(HttpMethod method, Rule rule, String... paths) {
+            for (String path : paths) {
+                Node node = root;
+                String[] segments = path.split("/");
+                for (int i = 0; i < segments.length; i++) {
+                    if (segments[i].isEmpty()) {
+                        continue;
+                    }
+                    if (CATCH_ALL.equals(segments[i]) && i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + path);
+                    }
+                    node = node.child(segments[i]);
+                }
+                if (method == null) {
+                    node.anyMethod = rule;
+                } else {
+                    node.rules.put(method, rule);
+                }
+            }
+            return this;
+        }
+    }
+}
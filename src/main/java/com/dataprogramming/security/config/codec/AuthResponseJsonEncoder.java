@@ -0,0 +1,242 @@
+package com.dataprogramming.security.config.codec;
+
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON encoder for the small, fixed-shape authentication responses.
+ * <p>
+ * {@link AuthResponse}, {@link TokenResponse} and {@link TokenData} are written straight into a
+ * single {@link DataBuffer} obtained from the response's buffer factory (pooled Netty buffers on
+ * Reactor Netty). The buffer is sized from the field lengths up front, so there is one
+ * allocation and no intermediate String, byte array or Jackson generator. The output is byte-for-byte what the
+ * default Jackson codec produces for these types; any other type or media type is left to it.
+ */
+public class AuthResponseJsonEncoder implements Encoder<Object> {
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(AuthResponse.class, TokenResponse.class, TokenData.class);
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private static final byte[] TOKEN_FIELD = ascii("{\"token\":");
+    private static final byte[] USERNAME_FIELD = ascii(",\"username\":");
+    private static final byte[] ROLE_FIELD = ascii(",\"role\":");
+    private static final byte[] ENABLED_FIELD = ascii(",\"enabled\":");
+    private static final byte[] SUCCESS_FIELD = ascii("{\"success\":");
+    private static final byte[] MESSAGE_FIELD = ascii(",\"message\":");
+    private static final byte[] DATA_FIELD = ascii(",\"data\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return SUPPORTED_TYPES.contains(elementType.toClass())
+                && (mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType)));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        Flux<DataBuffer> elements = Flux.from(inputStream)
+                .index()
+                .map(indexed -> encode(indexed.getT2(), bufferFactory, indexed.getT1() > 0));
+        return Flux.concat(
+                Mono.fromCallable(() -> bufferFactory.allocateBuffer(1).write((byte) '[')),
+                elements,
+                Mono.fromCallable(() -> bufferFactory.allocateBuffer(1).write((byte) ']')));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        return encode(value, bufferFactory, false);
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    private static DataBuffer encode(Object value, DataBufferFactory bufferFactory, boolean separator) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(estimateSize(value) + 1);
+        boolean release = true;
+        try {
+            if (separator) {
+                buffer.write((byte) ',');
+            }
+            write(value, buffer);
+            release = false;
+            return buffer;
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Exact size when every string is plain ASCII (always the case for tokens, roles and the fixed
+     * messages); escapes and multi-byte characters only make the buffer grow on write.
+     */
+    private static int estimateSize(Object value) {
+        if (value instanceof AuthResponse authResponse) {
+            return TOKEN_FIELD.length + estimateSize(authResponse.getToken()) + 1;
+        }
+        if (value instanceof TokenResponse tokenResponse) {
+            return SUCCESS_FIELD.length + FALSE.length
+                    + MESSAGE_FIELD.length + estimateSize(tokenResponse.message())
+                    + DATA_FIELD.length + estimateSize(tokenResponse.data()) + 1;
+        }
+        if (value instanceof TokenData tokenData) {
+            return TOKEN_FIELD.length + estimateSize(tokenData.token())
+                    + USERNAME_FIELD.length + estimateSize(tokenData.username())
+                    + ROLE_FIELD.length + estimateSize(tokenData.role())
+                    + ENABLED_FIELD.length + FALSE.length + 1;
+        }
+        if (value == null) {
+            return NULL.length;
+        }
+        throw new IllegalArgumentException("Unsupported type: " + value.getClass().getName());
+    }
+
+    private static int estimateSize(String value) {
+        return value == null ? NULL.length : value.length() + 2;
+    }
+
+    private static void write(Object value, DataBuffer buffer) {
+        if (value instanceof AuthResponse authResponse) {
+            buffer.write(TOKEN_FIELD);
+            write(authResponse.getToken(), buffer);
+            buffer.write((byte) '}');
+        } else if (value instanceof TokenResponse tokenResponse) {
+            buffer.write(SUCCESS_FIELD);
+            buffer.write(tokenResponse.success() ? TRUE : FALSE);
+            buffer.write(MESSAGE_FIELD);
+            write(tokenResponse.message(), buffer);
+            buffer.write(DATA_FIELD);
+            write(tokenResponse.data(), buffer);
+            buffer.write((byte) '}');
+        } else if (value instanceof TokenData tokenData) {
+            buffer.write(TOKEN_FIELD);
+            write(tokenData.token(), buffer);
+            buffer.write(USERNAME_FIELD);
+            write(tokenData.username(), buffer);
+            buffer.write(ROLE_FIELD);
+            write(tokenData.role(), buffer);
+            buffer.write(ENABLED_FIELD);
+            buffer.write(tokenData.enabled() ? TRUE : FALSE);
+            buffer.write((byte) '}');
+        } else {
+            buffer.write(NULL);
+        }
+    }
+
+    /**
+     * Writes a JSON string literal with Jackson's default escaping: {@code \" \\ \b \t \n \f \r},
+     * {@code \}{@code uXXXX} for other control characters and for surrogates, UTF-8 otherwise.
+     * Plain ASCII strings go through {@link DataBuffer#write(CharSequence, java.nio.charset.Charset)},
+     * which Netty buffers implement as a bulk copy.
+     */
+    private static void write(String value, DataBuffer buffer) {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '"');
+        if (isPlainAscii(value)) {
+            buffer.write(value, StandardCharsets.US_ASCII);
+        } else {
+            writeEscaped(value, buffer);
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x80 || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeEscaped(String value, DataBuffer buffer) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeAscii(c, buffer);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                writeUnicodeEscape(c, buffer);
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeAscii(char c, DataBuffer buffer) {
+        if (c >= 0x20) {
+            if (c == '"' || c == '\\') {
+                buffer.write((byte) '\\');
+            }
+            buffer.write((byte) c);
+            return;
+        }
+        char escape = shortEscape(c);
+        if (escape != 0) {
+            buffer.write((byte) '\\');
+            buffer.write((byte) escape);
+        } else {
+            writeUnicodeEscape(c, buffer);
+        }
+    }
+
+    private static void writeUnicodeEscape(char c, DataBuffer buffer) {
+        buffer.write((byte) '\\');
+        buffer.write((byte) 'u');
+        buffer.write(HEX[c >> 12]);
+        buffer.write(HEX[(c >> 8) & 0xF]);
+        buffer.write(HEX[(c >> 4) & 0xF]);
+        buffer.write(HEX[c & 0xF]);
+    }
+
+    private static char shortEscape(char c) {
+        return switch (c) {
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,151 @@
+package com.dataprogramming.security.config.codec;
+
+import com.dataprogramming.security.security.model.TokenValidation;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR (RFC 8949) encoder for {@link TokenValidation}.
+ * <p>
+ * Each value is written as a definite-length map keyed by the record component names, leaving
+ * out null strings, into a single {@link DataBuffer} sized up front, the same way
+ * {@link AuthResponseJsonEncoder} writes JSON. Any CBOR decoder (e.g. Jackson's
+ * {@code CBORMapper}) reads it back into the same record. A stream of values is written as a
+ * CBOR sequence (RFC 8742).
+ */
+public class TokenValidationCborEncoder implements Encoder<TokenValidation> {
+
+    private static final List<MimeType> MIME_TYPES = List.of(MediaType.APPLICATION_CBOR);
+
+    private static final int MAJOR_TEXT = 0x60;
+    private static final int MAJOR_MAP = 0xA0;
+    private static final byte FALSE = (byte) 0xF4;
+    private static final byte TRUE = (byte) 0xF5;
+    /** Largest string header: major type byte plus a 4-byte length. */
+    private static final int MAX_HEADER = 5;
+
+    private static final byte[] VALID_KEY = key("valid");
+    private static final byte[] MESSAGE_KEY = key("message");
+    private static final byte[] USERNAME_KEY = key("username");
+    private static final byte[] ROLE_KEY = key("role");
+    private static final byte[] ENABLED_KEY = key("enabled");
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return TokenValidation.class.equals(elementType.toClass())
+                && (mimeType == null || MIME_TYPES.stream().anyMatch(supported -> supported.isCompatibleWith(mimeType)));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<? extends TokenValidation> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(TokenValidation value, DataBufferFactory bufferFactory,
+                                  ResolvableType valueType, MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(estimateSize(value));
+        boolean release = true;
+        try {
+            write(value, buffer);
+            release = false;
+            return buffer;
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    /**
+     * Exact size when every string is plain ASCII; multi-byte characters only make the buffer
+     * grow on write.
+     */
+    private static int estimateSize(TokenValidation value) {
+        return 1 + VALID_KEY.length + 1 + ENABLED_KEY.length + 1
+                + estimateSize(MESSAGE_KEY, value.message())
+                + estimateSize(USERNAME_KEY, value.username())
+                + estimateSize(ROLE_KEY, value.role());
+    }
+
+    private static int estimateSize(byte[] key, String value) {
+        return value == null ? 0 : key.length + MAX_HEADER + value.length();
+    }
+
+    private static void write(TokenValidation value, DataBuffer buffer) {
+        int entries = 2 + count(value.message()) + count(value.username()) + count(value.role());
+        buffer.write((byte) (MAJOR_MAP | entries));
+        buffer.write(VALID_KEY);
+        buffer.write(value.valid() ? TRUE : FALSE);
+        write(MESSAGE_KEY, value.message(), buffer);
+        write(USERNAME_KEY, value.username(), buffer);
+        write(ROLE_KEY, value.role(), buffer);
+        buffer.write(ENABLED_KEY);
+        buffer.write(value.enabled() ? TRUE : FALSE);
+    }
+
+    private static int count(String value) {
+        return value == null ? 0 : 1;
+    }
+
+    private static void write(byte[] key, String value, DataBuffer buffer) {
+        if (value == null) {
+            return;
+        }
+        buffer.write(key);
+        if (isAscii(value)) {
+            writeTextHeader(value.length(), buffer);
+            buffer.write(value, StandardCharsets.US_ASCII);
+        } else {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeTextHeader(utf8.length, buffer);
+            buffer.write(utf8);
+        }
+    }
+
+    private static void writeTextHeader(int length, DataBuffer buffer) {
+        if (length < 24) {
+            buffer.write((byte) (MAJOR_TEXT | length));
+        } else if (length < 0x100) {
+            buffer.write(new byte[]{(byte) (MAJOR_TEXT | 24), (byte) length});
+        } else if (length < 0x10000) {
+            buffer.write(new byte[]{(byte) (MAJOR_TEXT | 25), (byte) (length >> 8), (byte) length});
+        } else {
+            buffer.write(new byte[]{(byte) (MAJOR_TEXT | 26), (byte) (length >> 24), (byte) (length >> 16),
+                    (byte) (length >> 8), (byte) length});
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] key(String name) {
+        byte[] key = new byte[name.length() + 1];
+        key[0] = (byte) (MAJOR_TEXT | name.length());
+        System.arraycopy(name.getBytes(StandardCharsets.US_ASCII), 0, key, 1, name.length());
+        return key;
+    }
+}
@@ -1,7 +1,14 @@
 package com.dataprogramming.security.config.filter;
 
-import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.profiling.AuthStageEvent;
+import com.dataprogramming.security.security.jwt.TokenClaims;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -16,23 +23,34 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * JWT authentication filter for WebFlux applications.
  * This filter intercepts each HTTP request and checks for the presence of a JWT token in the Authorization header.
  * If the token is valid, it extracts the user and role, and establishes authentication in the reactive security context.
  * If the token is invalid or not present, the request continues without authentication or returns 401 on error.
+ * Verification errors are only caught around the token check, never around the rest of the chain.
+ * The token check is timed as the {@code token.verify} JFR {@link AuthStageEvent}.
+ * The tenant claim of a valid token replaces the tenant {@link TenantWebFilter} took from the header.
  * Dependencies:
- * - JwtUtil: Utility for extracting and validating JWT claims.
+ * - TokenVerifier: Validates the token and extracts its claims through the token cache.
+ * - SecurityEventBus: Receives a TOKEN_REJECTED event for every rejected token.
+ * - TenantResolver: Maps the tenant claim to a configured tenant.
  */
 
 @Component
 public class JwtAuthenticationFilter implements WebFilter {
 
-    private final JwtUtil jwtUtil;
+    private final TokenVerifier tokenVerifier;
+    private final SecurityEventBus securityEventBus;
+    private final TenantResolver tenantResolver;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier, SecurityEventBus securityEventBus,
+                                   TenantResolver tenantResolver) {
+        this.tokenVerifier = tokenVerifier;
+        this.securityEventBus = securityEventBus;
+        this.tenantResolver = tenantResolver;
     }
 
     @Override
@@ -46,24 +64,38 @@ public class JwtAuthenticationFilter implements WebFilter {
 
         String token = authHeader.substring(7);
 
-        try {
-            Claims claims = jwtUtil.extractAllClaims(token);
-
-            String username = claims.getSubject();
-            String role = claims.get("role", String.class);
+        return AuthStageEvent.time(AuthStageEvent.TOKEN_VERIFY, tokenVerifier.verify(token))
+                .map(claims -> {
+                    String tenant = tenantResolver.resolve(TokenClaims.tenant(claims));
+                    exchange.getAttributes().put(TenantContext.ATTRIBUTE, tenant);
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(buildAuthentication(claims)))
+                            .contextWrite(TenantContext.with(tenant));
+                })
+                .onErrorResume(ex -> Mono.just(Mono.defer(() -> {
+                    securityEventBus.publish(rejection(ex, request));
+                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                    return exchange.getResponse().setComplete();
+                })))
+                .flatMap(Function.identity());
+    }
 
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    username,
-                    null,
-                    List.of(new SimpleGrantedAuthority("ROLE_" + role))
-            );
+    private static SecurityEvent rejection(Throwable error, ServerHttpRequest request) {
+        String userName = error instanceof ExpiredJwtException expired ? expired.getClaims().getSubject() : null;
+        String reason = error instanceof ExpiredJwtException ? "expired" : "invalid";
+        return SecurityEvent.of(SecurityEvent.Type.TOKEN_REJECTED, userName,
+                reason + " token on " + request.getMethod() + " " + request.getPath().value());
+    }
 
-            return chain.filter(exchange)
-                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    private Authentication buildAuthentication(Claims claims) {
+        String username = claims.getSubject();
+        // the role claim already holds the authority name (RegisterRequest.EnumRole, e.g. ROLE_USER)
+        String role = claims.get(TokenClaims.ROLE, String.class);
 
-        } catch (Exception ex) {
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
-        }
+        return new UsernamePasswordAuthenticationToken(
+                username,
+                null,
+                role == null ? List.of() : List.of(new SimpleGrantedAuthority(role))
+        );
     }
 }
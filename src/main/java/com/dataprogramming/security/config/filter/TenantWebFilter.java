@@ -0,0 +1,43 @@
+package com.dataprogramming.security.config.filter;
+
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the tenant of each request from the header set by the gateway ({@code tenancy.header})
+ * and writes it into the Reactor context and the exchange attributes.
+ * It runs before Spring Security, so {@link JwtAuthenticationFilter} can replace it with the
+ * tenant claim of the token: an authenticated request always works on the tenant its token was
+ * issued for, whatever the header says.
+ */
+
+@Component
+public class TenantWebFilter implements WebFilter, Ordered {
+
+    private final TenantProperties properties;
+    private final TenantResolver tenantResolver;
+
+    public TenantWebFilter(TenantProperties properties, TenantResolver tenantResolver) {
+        this.properties = properties;
+        this.tenantResolver = tenantResolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String tenant = tenantResolver.resolve(exchange.getRequest().getHeaders().getFirst(properties.getHeader()));
+        exchange.getAttributes().put(TenantContext.ATTRIBUTE, tenant);
+        return chain.filter(exchange).contextWrite(TenantContext.with(tenant));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -1,23 +1,33 @@
 package com.dataprogramming.security.controller;
 
-import com.dataprogramming.security.domain.User;
 import com.dataprogramming.security.mapper.UserMapper;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
 import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.jwt.TokenClaims;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
 import com.dataprogramming.security.security.model.*;
 import com.dataprogramming.security.service.UserService;
-import io.jsonwebtoken.Claims;
+import com.dataprogramming.security.tenant.TenantContext;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.micrometer.common.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 
 @Slf4j
@@ -26,9 +36,15 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class AuthController {
 
+    /** Lets clients keep user reads but revalidate them with If-None-Match on every use. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final TokenVerifier tokenVerifier;
     private final UserMapper userMapper;
+    private final Scheduler authScheduler;
+    private final SecurityEventBus securityEventBus;
 
     @PostMapping("/register")
     public Mono<ResponseEntity<RegisterResponse>> register(@RequestBody RegisterRequest request) {
@@ -37,7 +53,7 @@ public class AuthController {
                 .flatMap(notExists -> {
                     if (Boolean.TRUE.equals(notExists)) {
                         return userService.registerUser(request)
-                                .doOnSuccess(user -> log.info("User registered successfully: {}", user.getUserName()))
+                                .doOnSuccess(user -> log.info("User registered successfully: {}", user.userName()))
                                 .doOnError(error -> log.error("Error registering user: {}", error.getMessage()))
                                 .map(user -> ResponseEntity.status(HttpStatus.CREATED)
                                         .body(userMapper.toRegisterResponse(user)));
@@ -53,60 +69,98 @@ public class AuthController {
         return userService.validateUser(request.getUserName(), request.getPassword())
                 .doOnSuccess(user -> log.info("User authenticated successfully"))
                 .doOnError(error -> log.error("Authentication failed: {}", error.getMessage()))
-                .flatMap(user -> {
-                    String token = jwtUtil.generateToken(user);
-                    return Mono.just(ResponseEntity.ok(new AuthResponse(token)));
-                })
+                .zipWith(TenantContext.current())
+                .flatMap(userAndTenant -> Mono.fromCallable(
+                                () -> jwtUtil.generateToken(userAndTenant.getT1(), userAndTenant.getT2()))
+                        .subscribeOn(authScheduler))
+                .map(token -> ResponseEntity.ok(new AuthResponse(token)))
                 .switchIfEmpty(Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build()));
     }
 
     @PostMapping("/validate")
-    public ResponseEntity<TokenResponse> validateToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+    public Mono<ResponseEntity<TokenResponse>> validateToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
         String token = extractToken(authHeader);
-        try {
-            Claims claims = jwtUtil.extractAllClaims(token);
-            TokenData tokenData = buildTokenData(token, claims);
-            log.info("Token is valid for user: {}", tokenData.getUsername());
-            return ResponseEntity.ok(new TokenResponse(true, "Valid token", tokenData));
-        } catch (ExpiredJwtException ex) {
-            return unauthorizedResponse("The token has expired");
-        } catch (JwtException ex) {
-            return unauthorizedResponse("Invalid token");
-        }
+        return tokenVerifier.verify(token)
+                .map(claims -> {
+                    TokenData tokenData = TokenClaims.toTokenData(token, claims);
+                    log.info("Token is valid for user: {}", tokenData.username());
+                    return ResponseEntity.ok(new TokenResponse(true, "Valid token", tokenData));
+                })
+                .onErrorResume(ExpiredJwtException.class, ex -> Mono.just(unauthorizedResponse("The token has expired")))
+                .onErrorResume(JwtException.class, ex -> Mono.just(unauthorizedResponse("Invalid token")));
+    }
+
+    /**
+     * Same check as {@link #validateToken(String)} for internal callers that send
+     * {@code Accept: application/cbor}: a compact {@link TokenValidation} that does not echo the
+     * token back. Any other Accept header is served the JSON {@link TokenResponse}.
+     */
+    @PostMapping(value = "/validate", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public Mono<ResponseEntity<TokenValidation>> validateTokenCompact(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        return tokenVerifier.verify(extractToken(authHeader))
+                .map(claims -> ResponseEntity.ok(TokenClaims.toValidation(claims)))
+                .onErrorResume(ExpiredJwtException.class, ex -> Mono.just(compactUnauthorizedResponse("The token has expired")))
+                .onErrorResume(JwtException.class, ex -> Mono.just(compactUnauthorizedResponse("Invalid token")));
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<TokenResponse> refreshToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+    public Mono<ResponseEntity<TokenResponse>> refreshToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
         String oldToken = extractToken(authHeader);
-        try {
-
-            Claims claims = jwtUtil.extractAllClaims(oldToken);
-            User user = buildUserFromClaims(claims);
-            String newToken = jwtUtil.generateToken(user);
-            TokenData tokenData = buildTokenData(newToken, claims);
-            log.info("Token successfully renewed");
-            return ResponseEntity.ok(new TokenResponse(true, "Token successfully renewed", tokenData));
-        } catch (ExpiredJwtException ex) {
-            return unauthorizedResponse("The token has expired, it cannot be refreshed");
-        } catch (JwtException ex) {
-            return unauthorizedResponse("Invalid token");
-        }
+        return tokenVerifier.verify(oldToken)
+                .flatMap(claims -> Mono.fromCallable(() -> jwtUtil.generateToken(TokenClaims.toUser(claims), TokenClaims.tenant(claims)))
+                        .subscribeOn(authScheduler)
+                        .map(newToken -> {
+                            log.info("Token successfully renewed");
+                            securityEventBus.publish(SecurityEvent.of(SecurityEvent.Type.TOKEN_REFRESHED,
+                                    claims.getSubject(), null));
+                            return ResponseEntity.ok(new TokenResponse(true, "Token successfully renewed",
+                                    TokenClaims.toTokenData(newToken, claims)));
+                        }))
+                .onErrorResume(ExpiredJwtException.class,
+                        ex -> Mono.just(unauthorizedResponse("The token has expired, it cannot be refreshed")))
+                .onErrorResume(JwtException.class, ex -> Mono.just(unauthorizedResponse("Invalid token")));
     }
 
+    /**
+     * Lists the users with an ETag computed from their ids and versions. When it matches the
+     * If-None-Match header, WebFlux answers 304 without serializing the list.
+     */
     @GetMapping("/users")
-    public Flux<UserResponse> getAllUsers() {
+    public Mono<ResponseEntity<List<UserResponse>>> getAllUsers() {
         return userService.getAllUsers()
-                .map(userMapper::toUserResponse)
-                .doOnNext(user -> log.info("Fetched user: {}", user.getUserName()));
+                .doOnNext(user -> log.info("Fetched user: {}", user.getUserName()))
+                .collectList()
+                .map(users -> ResponseEntity.ok()
+                        .cacheControl(REVALIDATE)
+                        .eTag(listETag(users))
+                        .body(users));
     }
 
+    /**
+     * Returns the user with its version as a strong ETag. A request whose If-None-Match matches
+     * the cached version of the user gets a 304 without reaching Mongo; otherwise the user is
+     * loaded, which refreshes the cached version.
+     */
     @GetMapping("/users/{id}")
-    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable String id) {
-        return userService.getUserById(id)
-                .map(userMapper::toUserResponse)
+    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<ResponseEntity<UserResponse>> load = userService.getUserById(id)
                 .doOnNext(user -> log.info("Fetched user by ID: {}", user.getUserName()))
-                .map(ResponseEntity::ok)
+                .map(user -> user.getVersion() == null
+                        ? ResponseEntity.ok(user)
+                        : ResponseEntity.ok().cacheControl(REVALIDATE).eTag(versionETag(user.getVersion())).body(user))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
+        if (ifNoneMatch == null) {
+            return load;
+        }
+        return userService.cachedUserVersion(id)
+                .filter(version -> matches(ifNoneMatch, versionETag(version)))
+                .map(version -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(REVALIDATE)
+                        .eTag(versionETag(version))
+                        .<UserResponse>build())
+                .switchIfEmpty(load);
     }
 
     @DeleteMapping("/users/{id}")
@@ -123,18 +177,26 @@ public class AuthController {
                 });
     }
 
-    private String extractToken(String authHeader) {
-        return StringUtils.isNotBlank(authHeader) ? authHeader.replace("Bearer ", "") : "";
+    static String versionETag(long version) {
+        return "\"" + version + "\"";
     }
 
-    private TokenData buildTokenData(String token, Claims claims) {
+    static String listETag(List<UserResponse> users) {
+        StringBuilder versions = new StringBuilder();
+        for (UserResponse user : users) {
+            versions.append(user.getId()).append(':').append(user.getVersion()).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 
-        return TokenData.builder()
-                .token(token)
-                .username(claims.getSubject())
-                .role(claims.get("role", String.class))
-                .enabled(claims.get("enabled", Boolean.class))
-                .build();
+    private static boolean matches(String ifNoneMatch, String etag) {
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    private String extractToken(String authHeader) {
+        return StringUtils.isNotBlank(authHeader) ? authHeader.replace("Bearer ", "") : "";
     }
 
     private ResponseEntity<TokenResponse> unauthorizedResponse(String message) {
@@ -142,15 +204,9 @@ public class AuthController {
                 .body(new TokenResponse(false, message, null));
     }
 
-    private User buildUserFromClaims(Claims claims) {
-
-        return User.builder()
-                .userName(claims.getSubject())
-                .role(claims.get("role", String.class))
-                .enabled(claims.get("enabled", Boolean.class))
-                .documentType(claims.get("documentType", String.class))
-                .documentNumber(claims.get("documentNumber", String.class))
-                .build();
+    private ResponseEntity<TokenValidation> compactUnauthorizedResponse(String message) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(TokenValidation.builder().valid(false).message(message).build());
     }
 
 }
@@ -0,0 +1,23 @@
+package com.dataprogramming.security.controller;
+
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/auth/events")
+@RequiredArgsConstructor
+public class SecurityEventController {
+
+    private final SecurityEventBus securityEventBus;
+
+    @GetMapping(produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<SecurityEvent> streamEvents() {
+        return securityEventBus.subscribe();
+    }
+}
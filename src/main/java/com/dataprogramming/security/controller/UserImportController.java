@@ -0,0 +1,46 @@
+package com.dataprogramming.security.controller;
+
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@RestController
+@RequestMapping("/auth/users")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * The body is decoded into one string per line, so {@link UserImportService} parses each
+     * record on its own and a malformed line does not abort the import.
+     */
+    @PostMapping(value = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ImportResult> importUsers(@RequestBody Flux<String> lines) {
+        AtomicLong created = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        return userImportService.importUsers(lines)
+                .doOnNext(result -> {
+                    if (result.getStatus() == ImportResult.Status.CREATED) {
+                        created.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                })
+                .doOnComplete(() -> log.info("User import finished: {} created, {} rejected",
+                        created.get(), rejected.get()))
+                .doOnError(error -> log.error("User import aborted: {}", error.getMessage()));
+    }
+}
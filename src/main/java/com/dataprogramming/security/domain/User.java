@@ -1,33 +1,34 @@
 package com.dataprogramming.security.domain;
 
-import lombok.AllArgsConstructor;
+import com.dataprogramming.security.security.model.RegisterRequest;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.With;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
- * User entity for the "users" collection in MongoDB.
+ * User entity for the "users" collection in MongoDB, or the collection of its tenant when it has one.
  * <p>
- * This class represents a system user, including personal information,
- * credentials, and login status.
- * It uses Lombok annotations to automatically generate getters, setters,
- * constructors, and the builder pattern.
+ * This record represents a system user, including personal information,
+ * credentials, and login status. It is immutable: Spring Data and the services
+ * derive modified copies through the {@code with*} methods instead of setters.
+ * The role is kept as {@link RegisterRequest.EnumRole} and stored by name. The version is
+ * incremented by Spring Data on every save and backs the ETag of the user endpoints.
  */
 
-@Data
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@Document(collection = "users") // Para MongoDB
-public class User {
-    @Id
-    private String id;
-    private String documentType;
-    private String documentNumber;
-    private String userName;
-    private String password;
-    private String role;
-    private boolean enabled;
+@Document(collection = User.COLLECTION) // Para MongoDB
+public record User(
+        @With @Id String id,
+        String documentType,
+        String documentNumber,
+        String userName,
+        @With String password,
+        @With RegisterRequest.EnumRole role,
+        boolean enabled,
+        @With @Version Long version) {
+
+    /** Collection of the default tenant; tenants with a collection of their own use theirs. */
+    public static final String COLLECTION = "users";
 }
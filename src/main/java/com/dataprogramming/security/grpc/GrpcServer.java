@@ -0,0 +1,89 @@
+package com.dataprogramming.security.grpc;
+
+import com.dataprogramming.security.config.GrpcProperties;
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC services on their own port ({@code grpc.port}) next to the WebFlux server.
+ * <p>
+ * Calls are dispatched on the auth scheduler rather than on the Netty transport threads, so the
+ * JWT signature checks of {@code Validate} and {@code BatchValidate} on a token cache miss, which
+ * run where the call subscribes, never hold the event loop. The server is plaintext and meant for the internal network, like the h2c port of
+ * the REST API. It starts with the application context and, on shutdown, stops accepting calls
+ * and waits up to {@code grpc.shutdown-timeout} for the ones in flight.
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "grpc", name = "enabled", matchIfMissing = true)
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+    private final List<BindableService> services;
+    private final Scheduler authScheduler;
+    private volatile Server server;
+
+    public GrpcServer(GrpcProperties properties, List<BindableService> services, Scheduler authScheduler) {
+        this.properties = properties;
+        this.services = services;
+        this.authScheduler = authScheduler;
+    }
+
+    @Override
+    public void start() {
+        var builder = Grpc.newServerBuilderForPort(properties.getPort(), InsecureServerCredentials.create())
+                .maxInboundMessageSize(Math.toIntExact(properties.getMaxInboundMessageSize().toBytes()))
+                .executor(authScheduler::schedule);
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to start the gRPC server on port " + properties.getPort(), ex);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server listens on, the actual one when {@code grpc.port} is 0.
+     */
+    public int getPort() {
+        Server running = server;
+        return running != null ? running.getPort() : -1;
+    }
+}
@@ -0,0 +1,226 @@
+package com.dataprogramming.security.grpc;
+
+import com.dataprogramming.security.config.GrpcProperties;
+import com.dataprogramming.security.grpc.v1.TokenIntrospectionGrpc;
+import com.dataprogramming.security.grpc.v1.TokenRefreshReply;
+import com.dataprogramming.security.grpc.v1.TokenRequest;
+import com.dataprogramming.security.grpc.v1.TokenValidationReply;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.jwt.TokenClaims;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenValidation;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * gRPC counterpart of {@code POST /auth/validate} and {@code POST /auth/refresh} for internal
+ * services.
+ * <p>
+ * Tokens are checked by the same {@link TokenVerifier} (and its cache) and the claims are mapped
+ * by {@link TokenClaims}, so both transports return the same answers. An invalid or expired
+ * token is a regular reply with {@code valid=false} and the REST message, not a gRPC error, so a
+ * batch stream keeps going past it. {@code BatchValidate} verifies up to
+ * {@code grpc.batch-concurrency} tokens at a time and replies in request order.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenIntrospectionService extends TokenIntrospectionGrpc.TokenIntrospectionImplBase {
+
+    private final TokenVerifier tokenVerifier;
+    private final JwtUtil jwtUtil;
+    private final Scheduler authScheduler;
+    private final SecurityEventBus securityEventBus;
+    private final GrpcProperties grpcProperties;
+
+    @Override
+    public void validate(TokenRequest request, StreamObserver<TokenValidationReply> responseObserver) {
+        reply(validate(request), responseObserver);
+    }
+
+    @Override
+    public void refresh(TokenRequest request, StreamObserver<TokenRefreshReply> responseObserver) {
+        reply(refresh(request), responseObserver);
+    }
+
+    /**
+     * Flow control runs end to end: inbound tokens are only requested as the validations in
+     * flight leave room for them, and each reply is only pulled while the client can take it
+     * ({@code isReady}), so a slow client or a fast producer never makes the stream buffer more
+     * than {@code grpc.batch-concurrency} tokens and replies.
+     */
+    @Override
+    public StreamObserver<TokenRequest> batchValidate(StreamObserver<TokenValidationReply> responseObserver) {
+        ServerCallStreamObserver<TokenValidationReply> call =
+                (ServerCallStreamObserver<TokenValidationReply>) responseObserver;
+        call.disableAutoRequest();
+        ReplySubscriber replies = new ReplySubscriber(call);
+        call.setOnReadyHandler(replies::requestWhenReady);
+        call.setOnCancelHandler(replies::dispose);
+        AtomicReference<FluxSink<TokenRequest>> requests = new AtomicReference<>();
+        Flux.<TokenRequest>create(sink -> {
+                    requests.set(sink);
+                    sink.onRequest(demand -> call.request((int) Math.min(demand, Integer.MAX_VALUE)));
+                }, FluxSink.OverflowStrategy.ERROR)
+                .flatMapSequential(this::validate, grpcProperties.getBatchConcurrency())
+                .subscribe(replies);
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(TokenRequest request) {
+                requests.get().next(request);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                replies.dispose();
+            }
+
+            @Override
+            public void onCompleted() {
+                requests.get().complete();
+            }
+        };
+    }
+
+    Mono<TokenValidationReply> validate(TokenRequest request) {
+        if (request.getToken().isBlank()) {
+            return Mono.just(invalid("Invalid token", request));
+        }
+        return tokenVerifier.verify(request.getToken())
+                .map(claims -> validationReply(TokenClaims.toValidation(claims), request))
+                .onErrorResume(ExpiredJwtException.class, ex -> Mono.just(invalid("The token has expired", request)))
+                .onErrorResume(JwtException.class, ex -> Mono.just(invalid("Invalid token", request)));
+    }
+
+    Mono<TokenRefreshReply> refresh(TokenRequest request) {
+        if (request.getToken().isBlank()) {
+            return Mono.just(refreshFailure("Invalid token"));
+        }
+        return tokenVerifier.verify(request.getToken())
+                .flatMap(claims -> Mono.fromCallable(() -> jwtUtil.generateToken(TokenClaims.toUser(claims), TokenClaims.tenant(claims)))
+                        .subscribeOn(authScheduler)
+                        .map(newToken -> {
+                            securityEventBus.publish(SecurityEvent.of(SecurityEvent.Type.TOKEN_REFRESHED,
+                                    claims.getSubject(), null));
+                            return refreshReply(TokenClaims.toTokenData(newToken, claims));
+                        }))
+                .onErrorResume(ExpiredJwtException.class,
+                        ex -> Mono.just(refreshFailure("The token has expired, it cannot be refreshed")))
+                .onErrorResume(JwtException.class, ex -> Mono.just(refreshFailure("Invalid token")));
+    }
+
+    /**
+     * Writes the replies of a batch stream one at a time, pulling the next one only while the
+     * call is ready; the on-ready handler resumes it once the client catches up.
+     */
+    private static final class ReplySubscriber extends BaseSubscriber<TokenValidationReply> {
+
+        private final ServerCallStreamObserver<TokenValidationReply> call;
+        private final AtomicBoolean requested = new AtomicBoolean();
+
+        private ReplySubscriber(ServerCallStreamObserver<TokenValidationReply> call) {
+            this.call = call;
+        }
+
+        private void requestWhenReady() {
+            if (!isDisposed() && call.isReady() && requested.compareAndSet(false, true)) {
+                request(1);
+            }
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            requestWhenReady();
+        }
+
+        @Override
+        protected void hookOnNext(TokenValidationReply reply) {
+            requested.set(false);
+            call.onNext(reply);
+            requestWhenReady();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            call.onCompleted();
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            call.onError(internal(error));
+        }
+    }
+
+    private static <T> void reply(Mono<T> reply, StreamObserver<T> responseObserver) {
+        reply.subscribe(value -> {
+            responseObserver.onNext(value);
+            responseObserver.onCompleted();
+        }, error -> responseObserver.onError(internal(error)));
+    }
+
+    private static RuntimeException internal(Throwable error) {
+        log.error("Token introspection failed: {}", error.getMessage());
+        return Status.INTERNAL.withDescription("Token introspection failed").withCause(error).asRuntimeException();
+    }
+
+    private static TokenValidationReply validationReply(TokenValidation validation, TokenRequest request) {
+        TokenValidationReply.Builder reply = TokenValidationReply.newBuilder()
+                .setValid(validation.valid())
+                .setMessage(validation.message())
+                .setEnabled(validation.enabled())
+                .setCorrelationId(request.getCorrelationId());
+        if (validation.username() != null) {
+            reply.setUsername(validation.username());
+        }
+        if (validation.role() != null) {
+            reply.setRole(validation.role());
+        }
+        return reply.build();
+    }
+
+    private static TokenValidationReply invalid(String message, TokenRequest request) {
+        return TokenValidationReply.newBuilder()
+                .setValid(false)
+                .setMessage(message)
+                .setCorrelationId(request.getCorrelationId())
+                .build();
+    }
+
+    private static TokenRefreshReply refreshReply(TokenData tokenData) {
+        TokenRefreshReply.Builder reply = TokenRefreshReply.newBuilder()
+                .setValid(true)
+                .setMessage("Token successfully renewed")
+                .setToken(tokenData.token())
+                .setEnabled(tokenData.enabled());
+        if (tokenData.username() != null) {
+            reply.setUsername(tokenData.username());
+        }
+        if (tokenData.role() != null) {
+            reply.setRole(tokenData.role());
+        }
+        return reply.build();
+    }
+
+    private static TokenRefreshReply refreshFailure(String message) {
+        return TokenRefreshReply.newBuilder().setValid(false).setMessage(message).build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.dataprogramming.security.metrics;
+
+import com.dataprogramming.security.tenant.TenantContext;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+/**
+ * Adds an {@code auth.outcome} tag to {@code http.server.requests} that tells rejected
+ * credentials ({@code unauthorized}), missing roles ({@code forbidden}) and duplicated users
+ * ({@code conflict}) apart, where the standard {@code outcome} tag reports all of them as
+ * {@code CLIENT_ERROR}, and a {@code tenant} tag so the load and latency of each tenant can be
+ * followed on its own. Tenants are only those configured under {@code tenancy.collections},
+ * which keeps the tag bounded.
+ */
+public class AuthOutcomeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String AUTH_OUTCOME = "auth.outcome";
+    static final String TENANT = "tenant";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(AUTH_OUTCOME, authOutcome(context.getResponse()))
+                .and(TENANT, tenant(context));
+    }
+
+    static String tenant(ServerRequestObservationContext context) {
+        return context.getAttributes().get(TenantContext.ATTRIBUTE) instanceof String tenant
+                ? tenant
+                : TenantContext.DEFAULT;
+    }
+
+    static String authOutcome(ServerHttpResponse response) {
+        HttpStatusCode status = response != null ? response.getStatusCode() : null;
+        if (status == null) {
+            return "unknown";
+        }
+        return switch (status.value()) {
+            case 401 -> "unauthorized";
+            case 403 -> "forbidden";
+            case 409 -> "conflict";
+            default -> status.is5xxServerError() ? "server_error"
+                    : status.is4xxClientError() ? "client_error"
+                    : "success";
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.dataprogramming.security.metrics;
+
+import com.dataprogramming.security.config.SloProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Publishes a percentile histogram for the {@code http.server.requests} timers of the routes that
+ * have a latency objective, with the objective and the configured boundaries as SLO buckets.
+ * Other routes keep the default distribution (no histogram), so the number of exported series
+ * only grows for the routes that are tracked.
+ */
+public class RouteSloMeterFilter implements MeterFilter {
+
+    public static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    private final Map<String, double[]> objectivesByUri = new HashMap<>();
+
+    public RouteSloMeterFilter(SloProperties properties) {
+        properties.getRoutes().forEach((uri, objective) -> {
+            TreeSet<Long> nanos = new TreeSet<>();
+            nanos.add(objective.getLatency().toNanos());
+            objective.getBoundaries().stream().map(Duration::toNanos).forEach(nanos::add);
+            objectivesByUri.put(uri, nanos.stream().mapToDouble(Long::doubleValue).toArray());
+        });
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+            return config;
+        }
+        double[] objectives = objectivesByUri.get(id.getTag("uri"));
+        if (objectives == null) {
+            return config;
+        }
+        return DistributionStatisticConfig.builder()
+                .percentilesHistogram(true)
+                .serviceLevelObjectives(objectives)
+                .build()
+                .merge(config);
+    }
+}
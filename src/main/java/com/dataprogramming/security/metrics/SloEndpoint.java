@@ -0,0 +1,149 @@
+package com.dataprogramming.security.metrics;
+
+import com.dataprogramming.security.config.SloProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/slo}) with the error budget burn rate of each route that
+ * has a latency objective.
+ * <p>
+ * A request meets the objective when it completes within the route latency without a server
+ * error; client errors such as rejected credentials count as good requests. The good and total
+ * counts are read from the SLO bucket of the {@code http.server.requests} histogram (see
+ * {@link RouteSloMeterFilter}) and sampled every {@code slo.sample-interval}, so the burn rate
+ * covers the last {@code slo.window}: {@code (1 - good / total) / (1 - target)}. A burn rate of 1
+ * spends the error budget exactly at the allowed pace; routes at or above
+ * {@code slo.alert-burn-rate} are reported as alerting.
+ */
+
+@Component
+@Endpoint(id = "slo")
+public class SloEndpoint implements DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    private final SloProperties properties;
+    private final int samplesPerWindow;
+    private final Map<String, Deque<Sample>> samples = new LinkedHashMap<>();
+    private final Disposable sampler;
+
+    @Autowired
+    public SloEndpoint(MeterRegistry meterRegistry, SloProperties properties) {
+        this(meterRegistry, properties, Schedulers.parallel());
+    }
+
+    SloEndpoint(MeterRegistry meterRegistry, SloProperties properties, Scheduler timer) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.samplesPerWindow = (int) Math.max(1, properties.getWindow().toNanos() / properties.getSampleInterval().toNanos());
+        properties.getRoutes().keySet().forEach(uri -> samples.put(uri, new ArrayDeque<>(samplesPerWindow + 1)));
+        sample();
+        this.sampler = Flux.interval(properties.getSampleInterval(), timer)
+                .subscribe(tick -> sample());
+    }
+
+    @ReadOperation
+    public SloReport report() {
+        Map<String, RouteReport> routes = new LinkedHashMap<>();
+        properties.getRoutes().forEach((uri, objective) -> {
+            Sample now = count(uri, objective);
+            Sample start;
+            Deque<Sample> history = samples.get(uri);
+            synchronized (history) {
+                start = history.peekFirst();
+            }
+            long requests = Math.max(0, now.total() - start.total());
+            long good = Math.min(requests, Math.max(0, now.good() - start.good()));
+            double burnRate = requests == 0 ? 0 : (1 - (double) good / requests) / (1 - objective.getTarget());
+            routes.put(uri, new RouteReport(objective.getLatency().toMillis(), objective.getTarget(), requests, good,
+                    burnRate, burnRate >= properties.getAlertBurnRate()));
+        });
+        return new SloReport(properties.getWindow().toSeconds(), properties.getAlertBurnRate(), routes);
+    }
+
+    @Override
+    public void destroy() {
+        sampler.dispose();
+    }
+
+    private void sample() {
+        properties.getRoutes().forEach((uri, objective) -> {
+            Sample sample = count(uri, objective);
+            Deque<Sample> history = samples.get(uri);
+            synchronized (history) {
+                history.addLast(sample);
+                while (history.size() > samplesPerWindow) {
+                    history.removeFirst();
+                }
+            }
+        });
+    }
+
+    /**
+     * Cumulative request counts of the route across all its methods and statuses.
+     */
+    private Sample count(String uri, SloProperties.Objective objective) {
+        double latency = objective.getLatency().toNanos();
+        long total = 0;
+        long good = 0;
+        for (Timer timer : meterRegistry.find(RouteSloMeterFilter.HTTP_SERVER_REQUESTS).tag("uri", uri).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            total += snapshot.count();
+            String status = timer.getId().getTag("status");
+            if (status == null || !status.startsWith("5")) {
+                good += countWithin(snapshot, latency);
+            }
+        }
+        return new Sample(total, good);
+    }
+
+    private static long countWithin(HistogramSnapshot snapshot, double latencyNanos) {
+        long count = 0;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.bucket(TimeUnit.NANOSECONDS) <= latencyNanos) {
+                count = (long) bucket.count();
+            }
+        }
+        return count;
+    }
+
+    private record Sample(long total, long good) {
+    }
+
+    /**
+     * Burn rate of every tracked route over the last {@code windowSeconds}.
+     */
+    public record SloReport(long windowSeconds, double alertBurnRate, Map<String, RouteReport> routes) {
+    }
+
+    /**
+     * Objective and requests of one route in the window.
+     *
+     * @param latencyObjectiveMs latency within which a request is good.
+     * @param target             fraction of requests that must be good.
+     * @param requests           requests completed in the window.
+     * @param withinObjective    requests completed within the latency objective without a server error.
+     * @param burnRate           pace at which the error budget is being spent (1 = exactly on budget).
+     * @param alerting           whether the burn rate reached {@code slo.alert-burn-rate}.
+     */
+    public record RouteReport(long latencyObjectiveMs, double target, long requests, long withinObjective,
+                              double burnRate, boolean alerting) {
+    }
+}
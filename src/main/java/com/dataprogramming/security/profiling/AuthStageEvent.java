@@ -0,0 +1,100 @@
+package com.dataprogramming.security.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * JDK Flight Recorder event with the time spent in one stage of the authentication flow, so a
+ * recording attributes login latency to user lookup, BCrypt, JWT signing or parsing.
+ * <p>
+ * When no recording has the event enabled {@link #time} only allocates the (escape-analyzed)
+ * event and returns the work untouched; reactive stages are timed from subscription to their
+ * terminal signal.
+ */
+@Name(AuthStageEvent.NAME)
+@Label("Auth Stage")
+@Category({"Security", "Authentication"})
+@Description("Time spent in one stage of the authentication flow")
+@StackTrace(false)
+public class AuthStageEvent extends Event {
+
+    public static final String NAME = "com.dataprogramming.security.AuthStage";
+
+    public static final String JWT_SIGN = "jwt.sign";
+    public static final String JWT_PARSE = "jwt.parse";
+    public static final String USER_LOOKUP = "user.lookup";
+    public static final String PASSWORD_MATCH = "password.match";
+    public static final String USER_VALIDATE = "user.validate";
+    public static final String TOKEN_VERIFY = "token.verify";
+
+    static final String SUCCESS = "success";
+    static final String EMPTY = "empty";
+    static final String ERROR = "error";
+    static final String CANCELLED = "cancelled";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Outcome")
+    String outcome;
+
+    AuthStageEvent(String stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Runs a blocking stage inside the event.
+     */
+    public static <T> T time(String stage, Supplier<T> work) {
+        AuthStageEvent event = new AuthStageEvent(stage);
+        if (!event.isEnabled()) {
+            return work.get();
+        }
+        event.begin();
+        try {
+            T result = work.get();
+            event.outcome = SUCCESS;
+            return result;
+        } catch (RuntimeException ex) {
+            event.outcome = ERROR;
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Times a reactive stage from subscription until it emits, completes empty, fails or is
+     * cancelled.
+     */
+    public static <T> Mono<T> time(String stage, Mono<T> source) {
+        return Mono.defer(() -> {
+            AuthStageEvent event = new AuthStageEvent(stage);
+            if (!event.isEnabled()) {
+                return source;
+            }
+            event.begin();
+            return source
+                    .doOnSuccess(value -> event.finish(value != null ? SUCCESS : EMPTY))
+                    .doOnError(error -> event.finish(ERROR))
+                    .doFinally(signal -> {
+                        if (event.outcome == null) {
+                            event.outcome = CANCELLED;
+                        }
+                        event.commit();
+                    });
+        });
+    }
+
+    private void finish(String outcome) {
+        this.outcome = outcome;
+        end();
+    }
+}
@@ -0,0 +1,164 @@
+package com.dataprogramming.security.profiling;
+
+import com.dataprogramming.security.config.ProfilingProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/profiling}) that records a JDK Flight Recorder profile on
+ * demand.
+ * <p>
+ * {@code POST} starts a recording for the requested {@code duration} (capped at
+ * {@code profiling.max-duration}), {@code DELETE} stops it early and {@code GET} downloads the
+ * {@code .jfr} file, a snapshot of the data recorded so far while it is still running. Only one
+ * recording exists at a time; starting a new one discards the previous file. The settings are
+ * the JDK "default" profile (designed for continuous use in production) with the
+ * {@link AuthStageEvent}s enabled. Its CPU and allocation sampling rates are only replaced when
+ * set in {@link ProfilingProperties}, and finer rates than the profile's add to its overhead.
+ */
+
+@Slf4j
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint implements DisposableBean {
+
+    private static final String BASE_PROFILE = "default";
+
+    private final ProfilingProperties properties;
+    private Recording recording;
+    private Path file;
+    private Path snapshot;
+
+    public ProfilingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        discard();
+        Duration requested = duration != null ? duration : properties.getDefaultDuration();
+        Duration capped = requested.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : requested;
+        try {
+            file = Files.createTempFile("auth-profile-", ".jfr");
+            snapshot = file.resolveSibling(file.getFileName() + ".snapshot");
+            recording = new Recording(settings());
+            recording.setName("auth-profile");
+            recording.setToDisk(true);
+            recording.setDuration(capped);
+            recording.setDestination(file);
+            recording.start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("Started flight recording for {}", capped);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording");
+        }
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                Files.deleteIfExists(snapshot);
+                recording.dump(snapshot);
+                return new WebEndpointResponse<>(new FileSystemResource(snapshot), WebEndpointResponse.STATUS_OK);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        discard();
+    }
+
+    private RecordingStatus status() {
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+                recording.getDuration() != null ? recording.getDuration().toSeconds() : 0, recording.getSize());
+    }
+
+    Map<String, String> settings() throws IOException {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(BASE_PROFILE).getSettings());
+            if (properties.getExecutionSamplePeriod() != null) {
+                settings.put("jdk.ExecutionSample#period", properties.getExecutionSamplePeriod().toMillis() + " ms");
+            }
+            if (properties.getAllocationSamplesPerSecond() != null) {
+                settings.put("jdk.ObjectAllocationSample#throttle", properties.getAllocationSamplesPerSecond() + "/s");
+            }
+            settings.put(AuthStageEvent.NAME + "#enabled", "true");
+            settings.put(AuthStageEvent.NAME + "#threshold", properties.getStageThreshold().toNanos() + " ns");
+            return settings;
+        } catch (ParseException ex) {
+            throw new IOException("Invalid JFR profile " + BASE_PROFILE, ex);
+        }
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(snapshot);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not delete previous flight recording {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * State of the current recording.
+     *
+     * @param state           JFR recording state: RUNNING, then CLOSED once the file is written.
+     * @param startTime       when the recording started.
+     * @param durationSeconds requested duration, after which the recording stops by itself.
+     * @param sizeBytes       bytes recorded so far.
+     */
+    public record RecordingStatus(String state, Instant startTime, long durationSeconds, long sizeBytes) {
+    }
+}
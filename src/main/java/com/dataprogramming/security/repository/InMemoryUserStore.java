@@ -0,0 +1,293 @@
+package com.dataprogramming.security.repository;
+
+import com.dataprogramming.security.config.UserStoreProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * {@link UserStore} kept in process, for tests, local runs and deployments without MongoDB
+ * ({@code memory} profile).
+ * <p>
+ * Users are kept in one partition per collection, chosen like {@link MongoUserStore} does from
+ * the tenant in the Reactor context, so tenants are isolated the same way. In a partition the
+ * users are kept by id in a sorted map (ObjectId hex ids sort in insertion order, like the
+ * natural order of the collection) with concurrent indexes by user name and document number,
+ * which are unique. Reads never lock; writes are serialized so a user and its indexes always
+ * change together. When {@code user-store.snapshot-path} is set the users are restored from it
+ * at startup and written back every {@code user-store.snapshot-interval} if they changed, and
+ * once more on shutdown.
+ */
+
+@Slf4j
+@Component
+@Profile(InMemoryUserStore.PROFILE)
+public class InMemoryUserStore implements UserStore, DisposableBean {
+
+    public static final String PROFILE = "memory";
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final TenantResolver tenantResolver;
+    private final Object writeLock = new Object();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final UserSnapshotFile snapshotFile;
+    private final Disposable snapshots;
+
+    @Autowired
+    public InMemoryUserStore(UserStoreProperties properties, TenantResolver tenantResolver, ObjectMapper objectMapper) {
+        this(properties, tenantResolver, objectMapper, Schedulers.parallel(), Schedulers.boundedElastic());
+    }
+
+    InMemoryUserStore(UserStoreProperties properties, TenantResolver tenantResolver, ObjectMapper objectMapper,
+                      Scheduler timer, Scheduler io) {
+        this.tenantResolver = tenantResolver;
+        this.snapshotFile = properties.getSnapshotPath().isBlank()
+                ? null
+                : new UserSnapshotFile(Path.of(properties.getSnapshotPath()), objectMapper);
+        if (snapshotFile == null) {
+            this.snapshots = Flux.never().subscribe();
+            return;
+        }
+        restore();
+        this.snapshots = Flux.interval(properties.getSnapshotInterval(), timer)
+                .filter(tick -> dirty.getAndSet(false))
+                .concatMap(tick -> Mono.fromRunnable(this::writeSnapshot)
+                        .subscribeOn(io)
+                        .onErrorResume(error -> {
+                            dirty.set(true);
+                            log.error("Error writing the user snapshot: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return inPartition(partition -> Mono.fromCallable(() -> {
+            synchronized (writeLock) {
+                User stored = user.id() != null ? partition.users.get(user.id()) : null;
+                User saved;
+                if (user.version() == null) {
+                    if (stored != null) {
+                        throw new DuplicateKeyException("Duplicate id: " + user.id());
+                    }
+                    saved = user.withId(user.id() != null ? user.id() : ObjectId.get().toHexString()).withVersion(0L);
+                } else {
+                    if (stored == null || !user.version().equals(stored.version())) {
+                        throw new OptimisticLockingFailureException("Version " + user.version()
+                                + " of user " + user.id() + " is not the stored one");
+                    }
+                    saved = user.withVersion(user.version() + 1);
+                }
+                if (partition.taken(saved)) {
+                    throw new DuplicateKeyException("User name or document number already exists: " + saved.userName());
+                }
+                partition.put(stored, saved);
+                dirty.set(true);
+                return saved;
+            }
+        }));
+    }
+
+    @Override
+    public Mono<User> findByUserName(String userName) {
+        return inPartition(partition -> Mono.fromSupplier(() -> partition.lookup(partition.idsByUserName, userName)));
+    }
+
+    @Override
+    public Mono<Boolean> existsByDocumentNumber(String documentNumber) {
+        return inPartition(partition -> Mono.fromSupplier(
+                () -> documentNumber != null && partition.idsByDocumentNumber.containsKey(documentNumber)));
+    }
+
+    @Override
+    public Flux<UserResponse> findAll() {
+        return inPartitionMany(partition -> Flux.fromIterable(partition.users.values()).map(InMemoryUserStore::toResponse));
+    }
+
+    @Override
+    public Mono<UserResponse> findById(String id) {
+        return inPartition(partition -> Mono.fromSupplier(() -> id != null ? partition.users.get(id) : null)
+                .map(InMemoryUserStore::toResponse));
+    }
+
+    @Override
+    public Flux<UserResponse> findByDocumentNumberIn(Collection<String> documentNumbers) {
+        return inPartitionMany(partition -> Flux.fromIterable(documentNumbers)
+                .distinct()
+                .mapNotNull(documentNumber -> partition.lookup(partition.idsByDocumentNumber, documentNumber))
+                .map(InMemoryUserStore::toResponse));
+    }
+
+    @Override
+    public Mono<User> removeById(String id) {
+        return inPartition(partition -> Mono.fromSupplier(() -> {
+            synchronized (writeLock) {
+                User removed = id != null ? partition.users.remove(id) : null;
+                if (removed != null) {
+                    partition.unindex(removed);
+                    dirty.set(true);
+                }
+                return removed;
+            }
+        }));
+    }
+
+    @Override
+    public Flux<ImportResult> insertAll(List<User> batch) {
+        return inPartitionMany(partition -> {
+            List<ImportResult> results = new ArrayList<>(batch.size());
+            synchronized (writeLock) {
+                for (User user : batch) {
+                    if (partition.users.containsKey(user.id()) || partition.taken(user)) {
+                        results.add(ImportResult.failed(user, ImportResult.Status.DUPLICATE, "User already exists"));
+                    } else {
+                        partition.put(null, user);
+                        dirty.set(true);
+                        results.add(ImportResult.created(user));
+                    }
+                }
+            }
+            return Flux.fromIterable(results);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        snapshots.dispose();
+        if (snapshotFile != null && dirty.getAndSet(false)) {
+            try {
+                writeSnapshot();
+            } catch (UncheckedIOException ex) {
+                log.error("Error writing the user snapshot on shutdown: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private <T> Mono<T> inPartition(Function<Partition, Mono<T>> operation) {
+        return Mono.deferContextual(context -> operation.apply(partition(context)));
+    }
+
+    private <T> Flux<T> inPartitionMany(Function<Partition, Flux<T>> operation) {
+        return Flux.deferContextual(context -> operation.apply(partition(context)));
+    }
+
+    private Partition partition(ContextView context) {
+        return partition(tenantResolver.collectionFor(TenantContext.get(context)));
+    }
+
+    private Partition partition(String collection) {
+        return partitions.computeIfAbsent(collection, key -> new Partition());
+    }
+
+    private void restore() {
+        try {
+            Map<String, List<User>> restored = snapshotFile.read();
+            synchronized (writeLock) {
+                restored.forEach((collection, users) -> {
+                    Partition partition = partition(collection);
+                    users.forEach(user -> partition.put(null, user));
+                });
+            }
+            dirty.set(false);
+            log.info("Restored {} users from {}", restored.values().stream().mapToInt(List::size).sum(),
+                    snapshotFile.path());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read the user snapshot " + snapshotFile.path(), ex);
+        }
+    }
+
+    private void writeSnapshot() {
+        Map<String, List<User>> copy = new TreeMap<>();
+        synchronized (writeLock) {
+            partitions.forEach((collection, partition) -> copy.put(collection, List.copyOf(partition.users.values())));
+        }
+        try {
+            snapshotFile.write(copy);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static UserResponse toResponse(User user) {
+        return new UserResponse(user.id(), user.userName(), user.documentNumber(), user.enabled(), user.version());
+    }
+
+    /**
+     * Users of one collection with their unique indexes, changed only under the write lock.
+     */
+    private static final class Partition {
+
+        private final Map<String, User> users = new ConcurrentSkipListMap<>();
+        private final Map<String, String> idsByUserName = new ConcurrentHashMap<>();
+        private final Map<String, String> idsByDocumentNumber = new ConcurrentHashMap<>();
+
+        private void put(User stored, User saved) {
+            if (stored != null) {
+                unindex(stored);
+            }
+            users.put(saved.id(), saved);
+            if (saved.userName() != null) {
+                idsByUserName.put(saved.userName(), saved.id());
+            }
+            if (saved.documentNumber() != null) {
+                idsByDocumentNumber.put(saved.documentNumber(), saved.id());
+            }
+        }
+
+        private void unindex(User user) {
+            if (user.userName() != null) {
+                idsByUserName.remove(user.userName(), user.id());
+            }
+            if (user.documentNumber() != null) {
+                idsByDocumentNumber.remove(user.documentNumber(), user.id());
+            }
+        }
+
+        private boolean taken(User user) {
+            return takenByOther(idsByUserName, user.userName(), user.id())
+                    || takenByOther(idsByDocumentNumber, user.documentNumber(), user.id());
+        }
+
+        private static boolean takenByOther(Map<String, String> index, String key, String id) {
+            String owner = key != null ? index.get(key) : null;
+            return owner != null && !Objects.equals(owner, id);
+        }
+
+        private User lookup(Map<String, String> index, String key) {
+            String id = key != null ? index.get(key) : null;
+            return id != null ? users.get(id) : null;
+        }
+    }
+}
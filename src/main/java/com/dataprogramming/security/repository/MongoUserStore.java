@@ -0,0 +1,193 @@
+package com.dataprogramming.security.repository;
+
+import com.dataprogramming.security.config.UserStoreProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveFindOperation;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link UserStore} backed by MongoDB. Every operation runs against the collection of the tenant
+ * in the Reactor context ({@link TenantResolver#collectionFor(String)}): the {@code users}
+ * collection for the default tenant, their own collection for the tenants configured under
+ * {@code tenancy.collections}, so the indexes and load of a large tenant are kept apart.
+ * Batches are written with one unordered insertMany, whose duplicate-key errors are reported
+ * per user. The unique indexes on user name and document number those checks rely on are
+ * created in every collection once the application is ready ({@code user-store.create-indexes}).
+ */
+
+@Slf4j
+@Component
+@Profile("!" + InMemoryUserStore.PROFILE)
+@RequiredArgsConstructor
+public class MongoUserStore implements UserStore {
+
+    private static final int DUPLICATE_KEY_CODE = 11000;
+    private static final List<String> UNIQUE_FIELDS = List.of("userName", "documentNumber");
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final TenantResolver tenantResolver;
+    private final UserStoreProperties properties;
+
+    /**
+     * Creates the indexes in the background once the application is ready, so startup never
+     * waits for MongoDB; a failure or a timeout ({@code user-store.index-timeout}) is only logged.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexesWhenReady() {
+        if (!properties.isCreateIndexes()) {
+            log.info("Creation of the unique user indexes is disabled");
+            return;
+        }
+        createIndexes()
+                .timeout(properties.getIndexTimeout())
+                .subscribe(null,
+                        error -> log.error("Could not create the unique user indexes: {}", error.getMessage()),
+                        () -> log.info("Unique user indexes ready"));
+    }
+
+    /**
+     * Creates the unique indexes on user name and document number in the {@code users}
+     * collection and in the collection of every configured tenant. Existing indexes are kept.
+     */
+    Mono<Void> createIndexes() {
+        return Flux.fromIterable(tenantResolver.collections())
+                .flatMap(collection -> Flux.fromIterable(UNIQUE_FIELDS)
+                        .concatMap(field -> reactiveMongoTemplate.indexOps(collection)
+                                .createIndex(new Index(field, Sort.Direction.ASC).unique())))
+                .doOnNext(index -> log.info("Ensured unique index {}", index))
+                .then();
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return inCollection(collection -> reactiveMongoTemplate.save(user, collection));
+    }
+
+    @Override
+    public Mono<User> findByUserName(String userName) {
+        return inCollection(collection -> reactiveMongoTemplate.findOne(
+                Query.query(Criteria.where("userName").is(userName)), User.class, collection));
+    }
+
+    /**
+     * Existence check that only reads the {@code _id} of the first matching document.
+     */
+    @Override
+    public Mono<Boolean> existsByDocumentNumber(String documentNumber) {
+        return inCollection(collection -> reactiveMongoTemplate.exists(
+                Query.query(Criteria.where("documentNumber").is(documentNumber)), User.class, collection));
+    }
+
+    /**
+     * Lists users projected into {@link UserResponse}, so the password hash and the remaining
+     * fields are never transferred from MongoDB.
+     */
+    @Override
+    public Flux<UserResponse> findAll() {
+        return inCollectionMany(collection -> projected(collection).all());
+    }
+
+    @Override
+    public Mono<UserResponse> findById(String id) {
+        return inCollection(collection -> projected(collection)
+                .matching(Query.query(Criteria.where("id").is(id)))
+                .one());
+    }
+
+    @Override
+    public Flux<UserResponse> findByDocumentNumberIn(Collection<String> documentNumbers) {
+        return inCollectionMany(collection -> projected(collection)
+                .matching(Query.query(Criteria.where("documentNumber").in(documentNumbers)))
+                .all());
+    }
+
+    /**
+     * Deletes by id in a single round trip (findAndRemove).
+     */
+    @Override
+    public Mono<User> removeById(String id) {
+        return inCollection(collection -> reactiveMongoTemplate.findAndRemove(
+                Query.query(Criteria.where("id").is(id)), User.class, collection));
+    }
+
+    @Override
+    public Flux<ImportResult> insertAll(List<User> users) {
+        return inCollectionMany(collection -> reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, User.class, collection)
+                .insert(users)
+                .execute()
+                .thenMany(Flux.fromIterable(users).map(ImportResult::created))
+                .onErrorResume(error -> Flux.fromIterable(partialResults(users, error))));
+    }
+
+    private <T> Mono<T> inCollection(Function<String, Mono<T>> operation) {
+        return Mono.deferContextual(context -> operation.apply(
+                tenantResolver.collectionFor(TenantContext.get(context))));
+    }
+
+    private <T> Flux<T> inCollectionMany(Function<String, Flux<T>> operation) {
+        return Flux.deferContextual(context -> operation.apply(
+                tenantResolver.collectionFor(TenantContext.get(context))));
+    }
+
+    private ReactiveFindOperation.FindWithQuery<UserResponse> projected(String collection) {
+        return reactiveMongoTemplate.query(User.class).inCollection(collection).as(UserResponse.class);
+    }
+
+    private List<ImportResult> partialResults(List<User> users, Throwable error) {
+        List<BulkWriteError> errors = bulkWriteErrors(error);
+        if (errors == null) {
+            log.error("Error importing batch of {} users: {}", users.size(), error.getMessage());
+            return users.stream()
+                    .map(user -> ImportResult.failed(user, ImportResult.Status.FAILED, error.getMessage()))
+                    .toList();
+        }
+        ImportResult[] results = users.stream().map(ImportResult::created).toArray(ImportResult[]::new);
+        for (BulkWriteError writeError : errors) {
+            User user = users.get(writeError.getIndex());
+            results[writeError.getIndex()] = writeError.getCode() == DUPLICATE_KEY_CODE
+                    ? ImportResult.failed(user, ImportResult.Status.DUPLICATE, "User already exists")
+                    : ImportResult.failed(user, ImportResult.Status.FAILED, writeError.getMessage());
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Per-document errors of a failed bulk write. Duplicate keys reach here translated to a
+     * {@link org.springframework.dao.DuplicateKeyException}, so the cause chain is searched too.
+     */
+    private static List<BulkWriteError> bulkWriteErrors(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulkOperationException) {
+                return bulkOperationException.getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException mongoBulkWriteException) {
+                return mongoBulkWriteException.getWriteErrors();
+            }
+        }
+        return null;
+    }
+}
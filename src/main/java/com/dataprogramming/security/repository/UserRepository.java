@@ -1,12 +0,0 @@
-package com.dataprogramming.security.repository;
-
-import com.dataprogramming.security.domain.User;
-import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
-import reactor.core.publisher.Mono;
-
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
-
-    Mono<User> findByUserName(String userName);
-
-    Mono<User> findByDocumentNumber(String documentNumber);
-}
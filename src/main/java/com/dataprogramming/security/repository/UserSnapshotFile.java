@@ -0,0 +1,75 @@
+package com.dataprogramming.security.repository;
+
+import com.dataprogramming.security.domain.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON snapshot of the users of {@link InMemoryUserStore}, grouped by collection, read and
+ * written through a memory-mapped file.
+ * <p>
+ * A snapshot is written to a sibling temporary file, forced to disk and then moved over the
+ * previous one, so a crash while writing never leaves a truncated snapshot behind.
+ */
+final class UserSnapshotFile {
+
+    private static final TypeReference<Map<String, List<User>>> USERS = new TypeReference<>() {};
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    UserSnapshotFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the users of the last snapshot by collection, none when there is no snapshot yet.
+     */
+    Map<String, List<User>> read() throws IOException {
+        if (!Files.exists(path)) {
+            return Map.of();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return Map.of();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try (InputStream input = new ByteBufferBackedInputStream(buffer)) {
+                return objectMapper.readValue(input, USERS);
+            }
+        }
+    }
+
+    void write(Map<String, List<User>> users) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(users);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes.length);
+            buffer.put(bytes);
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
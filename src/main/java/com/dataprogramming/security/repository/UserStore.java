@@ -0,0 +1,59 @@
+package com.dataprogramming.security.repository;
+
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.UserResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of the users, beneath {@code UserService} and {@code UserImportService}.
+ * <p>
+ * {@link MongoUserStore} keeps them in MongoDB and is the default; {@link InMemoryUserStore}
+ * keeps them in process and is selected with the {@code memory} profile for tests and
+ * deployments without MongoDB. Both pass the same behaviour tests.
+ */
+public interface UserStore {
+
+    /**
+     * Inserts a new user (null id) with version 0, or replaces an existing one when its version
+     * matches the stored one, incrementing it.
+     *
+     * @return the saved user, or an {@link org.springframework.dao.OptimisticLockingFailureException}
+     * when the stored version is different.
+     */
+    Mono<User> save(User user);
+
+    Mono<User> findByUserName(String userName);
+
+    Mono<Boolean> existsByDocumentNumber(String documentNumber);
+
+    /**
+     * Lists the users in insertion order, without the password hash.
+     */
+    Flux<UserResponse> findAll();
+
+    Mono<UserResponse> findById(String id);
+
+    Flux<UserResponse> findByDocumentNumberIn(Collection<String> documentNumbers);
+
+    /**
+     * Deletes a user.
+     *
+     * @return the deleted user, so callers can invalidate what they cached for it, or empty when
+     * no user had that id.
+     */
+    Mono<User> removeById(String id);
+
+    /**
+     * Inserts a batch of new users that already carry their id and version, in one write where
+     * the store supports it.
+     *
+     * @return one result per user, in the order of the batch: {@code CREATED}, {@code DUPLICATE}
+     * when a unique key is already taken, or {@code FAILED}.
+     */
+    Flux<ImportResult> insertAll(List<User> users);
+}
@@ -0,0 +1,36 @@
+package com.dataprogramming.security.repository;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails the startup when the {@link UserStore} does not match the active profiles.
+ * <p>
+ * The store is chosen with the {@code memory} profile, but an AOT-processed build (the
+ * {@code aot} Maven profile and the Docker image) fixes the bean definitions for the profiles
+ * active at build time, so activating another profile at runtime would silently keep the other
+ * store. Such an artifact must be built again for that profile.
+ */
+
+@Component
+public class UserStoreProfileCheck implements InitializingBean {
+
+    private final UserStore userStore;
+    private final Environment environment;
+
+    public UserStoreProfileCheck(UserStore userStore, Environment environment) {
+        this.userStore = userStore;
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        boolean inMemory = userStore instanceof InMemoryUserStore;
+        if (inMemory != environment.matchesProfiles(InMemoryUserStore.PROFILE)) {
+            throw new IllegalStateException(("%s was wired but the \"%s\" profile is %s; an AOT build fixes "
+                    + "the store at build time, build it again for the active profiles").formatted(
+                    userStore.getClass().getSimpleName(), InMemoryUserStore.PROFILE, inMemory ? "not active" : "active"));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dataprogramming.security.security.event;
+
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Security-relevant fact published on the {@link SecurityEventBus}.
+ *
+ * @param type      what happened.
+ * @param userName  user involved, when known.
+ * @param detail    short free-form detail (rejection reason, user id, request path...).
+ * @param timestamp when it happened.
+ */
+@Builder
+public record SecurityEvent(Type type, String userName, String detail, Instant timestamp) {
+
+    public enum Type {
+        LOGIN_SUCCEEDED, LOGIN_FAILED, TOKEN_REFRESHED, USER_REGISTERED, USER_DELETED, TOKEN_REJECTED
+    }
+
+    public static SecurityEvent of(Type type, String userName, String detail) {
+        return new SecurityEvent(type, userName, detail, Instant.now());
+    }
+}
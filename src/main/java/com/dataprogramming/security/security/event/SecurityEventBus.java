@@ -0,0 +1,104 @@
+package com.dataprogramming.security.security.event;
+
+import com.dataprogramming.security.config.SecurityEventProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process, multi-subscriber bus of {@link SecurityEvent}s.
+ * <p>
+ * Publishing never blocks and never waits for subscribers: each event is handed to the
+ * serialized sink of every subscriber (a lock-free queue when several threads publish at once)
+ * and lands in a per-subscriber buffer of {@code security-events.buffer-size} events, drained one
+ * at a time on a separate scheduler. When a subscriber falls behind, its oldest buffered events are dropped
+ * and counted in {@code security.events.dropped}; other subscribers and the auth path are not
+ * affected. {@link SecurityEventListener} beans (such as the audit log) also receive every event,
+ * synchronously. With no listeners or subscribers, publishing costs a counter increment.
+ */
+
+@Slf4j
+@Component
+public class SecurityEventBus {
+
+    private final Set<FluxSink<SecurityEvent>> sinks = ConcurrentHashMap.newKeySet();
+    private final List<SecurityEventListener> listeners;
+    private final int bufferSize;
+    private final Scheduler deliveryScheduler;
+    private final Counter published;
+    private final Counter dropped;
+
+    @Autowired
+    public SecurityEventBus(SecurityEventProperties properties, MeterRegistry meterRegistry,
+                            ObjectProvider<SecurityEventListener> listeners) {
+        this(properties, meterRegistry, listeners.orderedStream().toList(), Schedulers.parallel());
+    }
+
+    public SecurityEventBus(SecurityEventProperties properties, MeterRegistry meterRegistry,
+                            List<SecurityEventListener> listeners, Scheduler deliveryScheduler) {
+        this.listeners = listeners;
+        this.bufferSize = properties.getBufferSize();
+        this.deliveryScheduler = deliveryScheduler;
+        this.published = Counter.builder("security.events.published")
+                .description("Security events published on the bus")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("security.events.dropped")
+                .description("Security events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("security.events.subscribers", sinks, Set::size)
+                .description("Current subscribers of the security event stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands the event to every listener and current subscriber without waiting for any of them.
+     */
+    public void publish(SecurityEvent event) {
+        published.increment();
+        for (SecurityEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ex) {
+                log.error("Security event listener {} failed: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+        for (FluxSink<SecurityEvent> sink : sinks) {
+            sink.next(event);
+        }
+    }
+
+    /**
+     * Hot stream of the events published from now on, buffered and delivered on its own.
+     */
+    public Flux<SecurityEvent> subscribe() {
+        AtomicLong subscriberDrops = new AtomicLong();
+        return Flux.<SecurityEvent>create(sink -> {
+                    sinks.add(sink);
+                    sink.onDispose(() -> {
+                        sinks.remove(sink);
+                        if (subscriberDrops.get() > 0) {
+                            log.warn("Security event subscriber left after dropping {} events", subscriberDrops.get());
+                        }
+                    });
+                })
+                .onBackpressureBuffer(bufferSize, event -> {
+                    subscriberDrops.incrementAndGet();
+                    dropped.increment();
+                }, BufferOverflowStrategy.DROP_OLDEST)
+                .publishOn(deliveryScheduler, 1);
+    }
+}
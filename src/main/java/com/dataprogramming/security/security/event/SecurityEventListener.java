@@ -0,0 +1,13 @@
+package com.dataprogramming.security.security.event;
+
+/**
+ * Receives every {@link SecurityEvent} synchronously, on the thread that publishes it.
+ * <p>
+ * Implementations run on the auth path (often a Netty event-loop thread), so they must only
+ * hand the event off (enqueue, count...) and never block or perform I/O.
+ */
+@FunctionalInterface
+public interface SecurityEventListener {
+
+    void onEvent(SecurityEvent event);
+}
@@ -2,7 +2,10 @@ package com.dataprogramming.security.security.jwt;
 
 import com.dataprogramming.security.config.JwtProperties;
 import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.profiling.AuthStageEvent;
+import com.dataprogramming.security.tenant.TenantContext;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -27,35 +30,50 @@ public class JwtUtil {
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
     }
 
+    /**
+     * Generates a JWT token for the provided user of the default tenant.
+     *
+     * @see #generateToken(User, String)
+     */
+    public String generateToken(User user) {
+        return generateToken(user, TenantContext.DEFAULT);
+    }
+
     /**
      * Generates a JWT token for the provided user.
      *
-     * @param user : The user for whom the token will be generated.
+     * @param user   : The user for whom the token will be generated.
+     * @param tenant : The tenant the user belongs to.
      * @return the generated JWT token as a string.
      * The token includes the following custom claims:
      * - role: The user's role.
      * - enabled: Whether the user is enabled.
      * - documentType: The user's document type.
      * - documentNumber: The user's document number.
+     * - tenant: The user's tenant, omitted for the default tenant.
      * The token also includes standard information such as the subject (username),
      * the issuer, the issue date, the expiration date, and a unique identifier.
      */
-    public String generateToken(User user) {
-        log.info("Generating token for user: {}", user.getUserName());
-        return Jwts.builder()
-                .setSubject(user.getUserName())
-                .setId(UUID.randomUUID().toString())
-                .setIssuer(jwtProperties.getIssuer())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .addClaims(Map.of(
-                        "role", user.getRole(),
-                        "enabled", user.isEnabled(),
-                        "documentType", user.getDocumentType(),
-                        "documentNumber", user.getDocumentNumber()
-                ))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+    public String generateToken(User user, String tenant) {
+        log.info("Generating token for user: {}", user.userName());
+        return AuthStageEvent.time(AuthStageEvent.JWT_SIGN, () -> {
+            JwtBuilder builder = Jwts.builder()
+                    .setSubject(user.userName())
+                    .setId(UUID.randomUUID().toString())
+                    .setIssuer(jwtProperties.getIssuer())
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
+                    .addClaims(Map.of(
+                            TokenClaims.ROLE, user.role().name(),
+                            TokenClaims.ENABLED, user.enabled(),
+                            TokenClaims.DOCUMENT_TYPE, user.documentType(),
+                            TokenClaims.DOCUMENT_NUMBER, user.documentNumber()
+                    ));
+            if (!TenantContext.DEFAULT.equals(tenant)) {
+                builder.claim(TokenClaims.TENANT, tenant);
+            }
+            return builder.signWith(key, SignatureAlgorithm.HS256).compact();
+        });
     }
 
     /**
@@ -66,11 +84,11 @@ public class JwtUtil {
      * @throws io.jsonwebtoken.JwtException if the token is invalid or cannot be parsed.
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
+        return AuthStageEvent.time(AuthStageEvent.JWT_PARSE, () -> Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
     }
 
     private Key getSigningKey() {
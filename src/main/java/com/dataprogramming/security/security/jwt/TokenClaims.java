@@ -0,0 +1,83 @@
+package com.dataprogramming.security.security.jwt;
+
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenValidation;
+import com.dataprogramming.security.tenant.TenantContext;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+
+/**
+ * Maps verified JWT claims to the models returned by the token endpoints.
+ * <p>
+ * Shared by the REST controller and the gRPC introspection service so both expose the same
+ * claims with the same names.
+ */
+public final class TokenClaims {
+
+    public static final String ROLE = "role";
+    public static final String ENABLED = "enabled";
+    public static final String DOCUMENT_TYPE = "documentType";
+    public static final String DOCUMENT_NUMBER = "documentNumber";
+    public static final String TENANT = "tenant";
+
+    private TokenClaims() {
+    }
+
+    public static TokenData toTokenData(String token, Claims claims) {
+        return TokenData.builder()
+                .token(token)
+                .username(claims.getSubject())
+                .role(claims.get(ROLE, String.class))
+                .enabled(claims.get(ENABLED, Boolean.class))
+                .build();
+    }
+
+    public static TokenValidation toValidation(Claims claims) {
+        return TokenValidation.builder()
+                .valid(true)
+                .message("Valid token")
+                .username(claims.getSubject())
+                .role(claims.get(ROLE, String.class))
+                .enabled(Boolean.TRUE.equals(claims.get(ENABLED, Boolean.class)))
+                .build();
+    }
+
+    /**
+     * Tenant the token was issued for, {@link TenantContext#DEFAULT} when it has no tenant claim.
+     */
+    public static String tenant(Claims claims) {
+        String tenant = claims.get(TENANT, String.class);
+        return tenant != null ? tenant : TenantContext.DEFAULT;
+    }
+
+    /**
+     * Rebuilds the user a token was issued for, with the claims {@link JwtUtil#generateToken(User, String)}
+     * needs to issue a new one.
+     *
+     * @throws MalformedJwtException when the role claim is missing or is not a known role, so
+     *                               callers answer it as any other invalid token
+     */
+    public static User toUser(Claims claims) {
+        return User.builder()
+                .userName(claims.getSubject())
+                .role(role(claims))
+                .enabled(Boolean.TRUE.equals(claims.get(ENABLED, Boolean.class)))
+                .documentType(claims.get(DOCUMENT_TYPE, String.class))
+                .documentNumber(claims.get(DOCUMENT_NUMBER, String.class))
+                .build();
+    }
+
+    private static RegisterRequest.EnumRole role(Claims claims) {
+        String role = claims.get(ROLE, String.class);
+        if (role == null) {
+            throw new MalformedJwtException("The token has no role claim");
+        }
+        try {
+            return RegisterRequest.EnumRole.valueOf(role);
+        } catch (IllegalArgumentException ex) {
+            throw new MalformedJwtException("Unknown role claim: " + role, ex);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dataprogramming.security.security.jwt;
+
+import com.dataprogramming.security.cache.TwoTierCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+/**
+ * Verifies JWT tokens through the token cache.
+ * <p>
+ * A token is parsed and its signature checked by {@link JwtUtil} only the first time it is seen
+ * by any replica; afterwards its claims come from the {@link TwoTierCache}. Cached claims are
+ * still checked for expiration, so a cache hit never accepts an expired token.
+ */
+
+@Component
+@RequiredArgsConstructor
+public class TokenVerifier {
+
+    private final JwtUtil jwtUtil;
+    private final TwoTierCache<Claims> tokenCache;
+
+    /**
+     * Returns the claims of a valid token.
+     *
+     * @param token the JWT token.
+     * @return the token claims, or an error with the {@link io.jsonwebtoken.JwtException} raised
+     * by the verification ({@link ExpiredJwtException} when it has expired).
+     */
+    public Mono<Claims> verify(String token) {
+        return tokenCache.get(token, () -> Mono.fromCallable(() -> jwtUtil.extractAllClaims(token)))
+                .handle((claims, sink) -> {
+                    Date expiration = claims.getExpiration();
+                    if (expiration != null && !expiration.after(new Date())) {
+                        sink.error(new ExpiredJwtException(null, claims, "JWT expired at " + expiration.toInstant()));
+                    } else {
+                        sink.next(claims);
+                    }
+                });
+    }
+}
@@ -0,0 +1,43 @@
+package com.dataprogramming.security.security.model;
+
+import com.dataprogramming.security.domain.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+    private String documentNumber;
+    private String userName;
+    private Status status;
+    private String id;
+    private String message;
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    public static ImportResult created(User user) {
+        return ImportResult.builder()
+                .documentNumber(user.documentNumber())
+                .userName(user.userName())
+                .status(Status.CREATED)
+                .id(user.id())
+                .build();
+    }
+
+    public static ImportResult failed(User user, Status status, String message) {
+        return ImportResult.builder()
+                .documentNumber(user.documentNumber())
+                .userName(user.userName())
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
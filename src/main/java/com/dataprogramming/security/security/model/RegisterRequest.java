@@ -1,6 +1,7 @@
 package com.dataprogramming.security.security.model;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,7 @@ public class RegisterRequest {
     private String userName;
     @NotBlank(message = "Password cannot be blank")
     private String password;
-    @NotBlank(message = "Role cannot be blank")
+    @NotNull(message = "Role cannot be blank")
     private EnumRole role;
 
     public enum EnumRole{
@@ -1,21 +1,13 @@
 package com.dataprogramming.security.security.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
-@Getter
-@Setter
 @Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class RegisterResponse {
-    private String id;
-    private String documentType;
-    private String documentNumber;
-    private String userName;
-    private String role;
-    private boolean enabled;
+public record RegisterResponse(
+        String id,
+        String documentType,
+        String documentNumber,
+        String userName,
+        RegisterRequest.EnumRole role,
+        boolean enabled) {
 }
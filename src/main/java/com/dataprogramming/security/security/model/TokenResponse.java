@@ -1,18 +1,7 @@
 package com.dataprogramming.security.security.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
-@Getter
-@Setter
 @Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class TokenResponse {
-    private boolean success;
-    private String message;
-    private TokenData data;
+public record TokenResponse(boolean success, String message, TokenData data) {
 }
@@ -0,0 +1,11 @@
+package com.dataprogramming.security.security.model;
+
+import lombok.Builder;
+
+/**
+ * Compact result of {@code POST /auth/validate} for internal callers that accept
+ * {@code application/cbor}: the claims the caller needs, without echoing the token back.
+ */
+@Builder
+public record TokenValidation(boolean valid, String message, String username, String role, boolean enabled) {
+}
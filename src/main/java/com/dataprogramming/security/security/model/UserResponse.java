@@ -12,4 +12,5 @@ public class UserResponse {
     private String userName;
     private String documentNumber;
     private boolean enabled;
+    private Long version;
 }
@@ -0,0 +1,155 @@
+package com.dataprogramming.security.service;
+
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.config.UserImportProperties;
+import com.dataprogramming.security.config.authorization.RoleAssignment;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.mapper.UserMapper;
+import com.dataprogramming.security.repository.UserStore;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk registration of users.
+ * <p>
+ * The body is read one NDJSON line at a time, so a line that is not a valid request is reported
+ * as {@code INVALID} with its line number and the rest of the stream is still imported.
+ * Requests are consumed in batches of {@code user-import.batch-size}: each batch is validated,
+ * checked for duplicates with a single {@code $in} query, hashed in parallel on the auth
+ * scheduler and written with one {@link UserStore#insertAll(List)} (an unordered insertMany on
+ * MongoDB). Only one batch is in flight at a time, so a slow client or a slow store applies
+ * backpressure to the request body. Created users are dropped from the set of unknown user
+ * names.
+ */
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private final UserStore userStore;
+    private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final Scheduler authScheduler;
+    private final UserImportProperties properties;
+    private final NegativeCache unknownUsers;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Imports the users of an NDJSON body, given line by line; blank lines are skipped. Records
+     * with a role other than {@link RoleAssignment#DEFAULT_ROLE} are only accepted from an
+     * administrator and are {@code INVALID} otherwise.
+     */
+    public Flux<ImportResult> importUsers(Flux<String> lines) {
+        return RoleAssignment.byAdministrator()
+                .flatMapMany(administrator -> lines
+                        .index()
+                        .filter(line -> !line.getT2().isBlank())
+                        .buffer(properties.getBatchSize())
+                        .concatMap(batch -> importBatch(batch, administrator), 0));
+    }
+
+    private Flux<ImportResult> importBatch(List<Tuple2<Long, String>> batch, boolean administrator) {
+        List<ImportResult> rejected = new ArrayList<>();
+        List<RegisterRequest> valid = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Tuple2<Long, String> line : batch) {
+            RegisterRequest request;
+            try {
+                request = objectMapper.readValue(line.getT2(), RegisterRequest.class);
+            } catch (JsonProcessingException ex) {
+                // the parser message may quote the line, passwords included, so it is not echoed
+                rejected.add(ImportResult.builder()
+                        .status(ImportResult.Status.INVALID)
+                        .message("Malformed record at line " + (line.getT1() + 1))
+                        .build());
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                rejected.add(result(request, ImportResult.Status.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+            } else if (!RoleAssignment.allowed(request.getRole(), administrator)) {
+                rejected.add(result(request, ImportResult.Status.INVALID,
+                        "Only an administrator can assign " + request.getRole()));
+            } else if (!seen.add(request.getDocumentNumber())) {
+                rejected.add(result(request, ImportResult.Status.DUPLICATE, "Duplicated in import"));
+            } else {
+                valid.add(request);
+            }
+        }
+
+        return userStore.findByDocumentNumberIn(seen)
+                .map(UserResponse::getDocumentNumber)
+                .collect(Collectors.toSet())
+                .flatMapMany(existing -> {
+                    List<RegisterRequest> accepted = new ArrayList<>();
+                    for (RegisterRequest request : valid) {
+                        if (existing.contains(request.getDocumentNumber())) {
+                            rejected.add(result(request, ImportResult.Status.DUPLICATE, "User already exists"));
+                        } else {
+                            accepted.add(request);
+                        }
+                    }
+                    return Flux.fromIterable(rejected).concatWith(insertAll(accepted));
+                });
+    }
+
+    private Flux<ImportResult> insertAll(List<RegisterRequest> accepted) {
+        if (accepted.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(accepted)
+                .flatMapSequential(request -> Mono.fromCallable(() -> toUser(request))
+                        .subscribeOn(authScheduler), properties.getHashConcurrency())
+                .collectList()
+                .flatMapMany(userStore::insertAll)
+                .concatMap(this::forgetIfCreated);
+    }
+
+    private Mono<ImportResult> forgetIfCreated(ImportResult result) {
+        return result.getStatus() == ImportResult.Status.CREATED
+                ? TenantContext.scoped(result.getUserName()).flatMap(unknownUsers::invalidate).thenReturn(result)
+                : Mono.just(result);
+    }
+
+    private User toUser(RegisterRequest request) {
+        return userMapper.toUser(request, passwordEncoder.encode(request.getPassword()))
+                .withId(ObjectId.get().toHexString())
+                // bulk inserts do not initialize the version as save() does
+                .withVersion(0L);
+    }
+
+    private static ImportResult result(RegisterRequest request, ImportResult.Status status, String message) {
+        return ImportResult.builder()
+                .documentNumber(request.getDocumentNumber())
+                .userName(request.getUserName())
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
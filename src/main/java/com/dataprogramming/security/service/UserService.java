@@ -1,66 +1,159 @@
 package com.dataprogramming.security.service;
 
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.cache.SingleFlight;
+import com.dataprogramming.security.cache.TwoTierCache;
+import com.dataprogramming.security.config.authorization.RoleAssignment;
 import com.dataprogramming.security.domain.User;
 import com.dataprogramming.security.mapper.UserMapper;
-import com.dataprogramming.security.repository.UserRepository;
+import com.dataprogramming.security.profiling.AuthStageEvent;
+import com.dataprogramming.security.repository.UserStore;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
 import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
-    private final UserRepository userRepository;
+    private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+    private final UserStore userStore;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final Scheduler authScheduler;
+    private final TwoTierCache<User> userCache;
+    private final TwoTierCache<Long> userVersionCache;
+    private final SingleFlight<String, User> userNameLookups;
+    private final SingleFlight<String, UserResponse> userIdLookups;
+    private final NegativeCache unknownUsers;
+    private final SecurityEventBus securityEventBus;
+
+    /**
+     * Hash of a random password, computed once with the same encoder and cost as real hashes.
+     * A failed attempt is not cached, so the next unknown user name computes it again.
+     */
+    private final Mono<String> dummyPasswordHash = Mono.defer(this::hashDummyPassword)
+            .cache(hash -> FOREVER, error -> Duration.ZERO, () -> Duration.ZERO);
 
+    /**
+     * Returns the user when the password matches.
+     * <p>
+     * Unknown user names are remembered in a bounded negative cache, so repeated attempts do not
+     * reach the store. Either way a BCrypt verification runs on the auth scheduler, against a dummy
+     * hash when the user does not exist, so a failed login takes the same time whether or not
+     * the user name exists.
+     */
     public Mono<User> validateUser(String userName, String password) {
-        return userRepository.findByUserName(userName)
-                .doOnSuccess(user -> log.info("User found"))
-                .doOnError(error -> log.error("Error finding user: {}", error.getMessage()))
-                .flatMap(user -> {
-                    if (passwordEncoder.matches(password, user.getPassword())) {
-                        return Mono.just(user);
-                    } else {
-                        return Mono.empty();
-                    }
-                })
-                .switchIfEmpty(Mono.empty());
+        Mono<User> validation = AuthStageEvent.time(AuthStageEvent.USER_LOOKUP, findKnownUser(userName))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> user.map(found -> Mono.just(found.password())).orElse(dummyPasswordHash)
+                        .flatMap(hash -> Mono.fromCallable(() -> AuthStageEvent.time(AuthStageEvent.PASSWORD_MATCH,
+                                        () -> passwordEncoder.matches(password, hash)))
+                                .subscribeOn(authScheduler))
+                        .filter(matches -> matches && user.isPresent())
+                        .map(matches -> user.get()))
+                .doOnSuccess(user -> securityEventBus.publish(SecurityEvent.of(
+                        user != null ? SecurityEvent.Type.LOGIN_SUCCEEDED : SecurityEvent.Type.LOGIN_FAILED, userName, null)));
+        return AuthStageEvent.time(AuthStageEvent.USER_VALIDATE, validation);
     }
 
-
+    /**
+     * Registers a user with the requested role when an administrator calls, with
+     * {@link RoleAssignment#DEFAULT_ROLE} otherwise (registration is public).
+     */
     public Mono<User> registerUser(RegisterRequest request) {
-        String encryptedPassword = passwordEncoder.encode(request.getPassword());
-        request.setPassword(encryptedPassword);
-        User user = userMapper.toUser(request);
-        user.setEnabled(true);
-        return userRepository.save(user);
+        return RoleAssignment.grantedRole(request.getRole())
+                .flatMap(role -> Mono.fromCallable(() -> passwordEncoder.encode(request.getPassword()))
+                        .subscribeOn(authScheduler)
+                        .map(encryptedPassword -> userMapper.toUser(request, encryptedPassword).withRole(role)))
+                .flatMap(userStore::save)
+                .flatMap(user -> TenantContext.scoped(user.userName())
+                        .flatMap(key -> userCache.invalidate(key).then(unknownUsers.invalidate(key)))
+                        .thenReturn(user))
+                .doOnNext(user -> securityEventBus.publish(SecurityEvent.of(
+                        SecurityEvent.Type.USER_REGISTERED, user.userName(), user.id())));
     }
 
     public Mono<Boolean> userExists(String documentNumber) {
-        return userRepository.findByDocumentNumber(documentNumber)
-                .flatMap(user -> Mono.just(false))
-                .switchIfEmpty(Mono.just(true));
+        return userStore.existsByDocumentNumber(documentNumber)
+                .map(exists -> !exists);
+    }
+
+    public Flux<UserResponse> getAllUsers() {
+        return userStore.findAll();
+    }
+
+    /**
+     * Loads the user from the store and remembers its version for {@link #cachedUserVersion(String)}.
+     */
+    public Mono<UserResponse> getUserById(String id) {
+        return TenantContext.scoped(id).flatMap(key -> userIdLookups.execute(key, () -> userStore.findById(id)
+                .flatMap(user -> user.getVersion() == null
+                        ? Mono.just(user)
+                        : userVersionCache.put(key, user.getVersion()).thenReturn(user))));
+    }
+
+    /**
+     * Last known version of the user, without reaching the store: empty when it is not cached.
+     * Deleting the user invalidates it on every replica.
+     */
+    public Mono<Long> cachedUserVersion(String id) {
+        return TenantContext.scoped(id).flatMap(key -> userVersionCache.get(key, Mono::empty));
     }
 
-    public Flux<User> getAllUsers() {
-        return userRepository.findAll();
+    private Mono<String> hashDummyPassword() {
+        return Mono.fromCallable(() -> passwordEncoder.encode(UUID.randomUUID().toString()))
+                .subscribeOn(authScheduler);
     }
 
-    public Mono<User> getUserById(String id) {
-        return userRepository.findById(id);
+    /**
+     * Looks the user up through the caches, whose keys are scoped to the tenant of the request.
+     */
+    private Mono<User> findKnownUser(String userName) {
+        return Mono.deferContextual(context -> {
+            String key = TenantContext.scope(TenantContext.get(context), userName);
+            if (unknownUsers.contains(key)) {
+                return Mono.empty();
+            }
+            long generation = unknownUsers.generation();
+            return userCache.get(key, () -> userNameLookups.execute(key,
+                            () -> userStore.findByUserName(userName)))
+                    .doOnSuccess(user -> {
+                        if (user == null) {
+                            unknownUsers.add(key, generation);
+                        } else {
+                            log.info("User found");
+                        }
+                    })
+                    .doOnError(error -> log.error("Error finding user: {}", error.getMessage()));
+        });
     }
 
     public Mono<Boolean> deleteUserById(String id) {
-        return userRepository.findById(id)
-                .flatMap(user -> userRepository.delete(user)
-                        .then(Mono.just(true)))
-                .switchIfEmpty(Mono.just(false));
+        return userStore.removeById(id)
+                .doOnNext(user -> securityEventBus.publish(SecurityEvent.of(
+                        SecurityEvent.Type.USER_DELETED, user.userName(), user.id())))
+                .flatMap(user -> Mono.deferContextual(context -> {
+                    String tenant = TenantContext.get(context);
+                    return userCache.invalidate(TenantContext.scope(tenant, user.userName()))
+                            .then(userVersionCache.invalidate(TenantContext.scope(tenant, user.id())));
+                }).thenReturn(true))
+                .defaultIfEmpty(false);
     }
 }
@@ -0,0 +1,53 @@
+package com.dataprogramming.security.tenant;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Carries the tenant of the current request in the Reactor {@link Context}.
+ * <p>
+ * The tenant is written by the web filters for the whole request and read where the users are
+ * stored or cached, so the services do not pass it along explicitly. Work outside a request
+ * (startup, gRPC) runs as the {@link #DEFAULT} tenant.
+ */
+public final class TenantContext {
+
+    /** Tenant of requests without a dedicated collection; its keys are not prefixed. */
+    public static final String DEFAULT = "default";
+
+    /** Exchange attribute holding the tenant, read when tagging the request metrics. */
+    public static final String ATTRIBUTE = TenantContext.class.getName() + ".TENANT";
+
+    private static final Class<TenantContext> KEY = TenantContext.class;
+
+    private TenantContext() {
+    }
+
+    public static Context with(String tenant) {
+        return Context.of(KEY, tenant);
+    }
+
+    public static String get(ContextView context) {
+        return context.getOrDefault(KEY, DEFAULT);
+    }
+
+    public static Mono<String> current() {
+        return Mono.deferContextual(context -> Mono.just(get(context)));
+    }
+
+    /**
+     * Prefixes a cache key with the tenant, so users of different tenants with the same user name
+     * or id never share an entry. Keys of the default tenant are left unchanged.
+     */
+    public static String scope(String tenant, String key) {
+        return DEFAULT.equals(tenant) ? key : tenant + ':' + key;
+    }
+
+    /**
+     * {@link #scope(String, String)} with the tenant of the current context.
+     */
+    public static Mono<String> scoped(String key) {
+        return Mono.deferContextual(context -> Mono.just(scope(get(context), key)));
+    }
+}
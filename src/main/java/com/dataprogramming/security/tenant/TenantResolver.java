@@ -0,0 +1,44 @@
+package com.dataprogramming.security.tenant;
+
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.domain.User;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Resolves the tenant of a request and the collection its users are stored in.
+ * <p>
+ * Only tenants configured under {@code tenancy.collections} are kept as such; any other value
+ * resolves to {@link TenantContext#DEFAULT}, so a forged header never creates collections, cache
+ * scopes or metric tags.
+ */
+
+@Component
+public class TenantResolver {
+
+    private final TenantProperties properties;
+
+    public TenantResolver(TenantProperties properties) {
+        this.properties = properties;
+    }
+
+    public String resolve(String tenant) {
+        return tenant != null && properties.getCollections().containsKey(tenant) ? tenant : TenantContext.DEFAULT;
+    }
+
+    public String collectionFor(String tenant) {
+        return properties.getCollections().getOrDefault(tenant, User.COLLECTION);
+    }
+
+    /**
+     * Every collection users can be stored in: {@code users} and those of the configured tenants.
+     */
+    public Set<String> collections() {
+        Set<String> collections = new LinkedHashSet<>();
+        collections.add(User.COLLECTION);
+        collections.addAll(properties.getCollections().values());
+        return collections;
+    }
+}
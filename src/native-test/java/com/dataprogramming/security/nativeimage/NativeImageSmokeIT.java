@@ -0,0 +1,126 @@
+package com.dataprogramming.security.nativeimage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boots the native executable produced by {@code -Pnative} against an in-memory MongoDB
+ * stand-in and drives register, login and validate through real HTTP calls.
+ */
+class NativeImageSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private MongoServer mongo;
+    private Process application;
+    private String baseUrl;
+
+    @BeforeEach
+    void startApplication() throws IOException, InterruptedException {
+        Path binary = Path.of(System.getProperty("native.binary", "target/security"));
+        assertThat(binary).as("native executable").isExecutable();
+
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+
+        long started = System.nanoTime();
+        application = new ProcessBuilder(binary.toString(),
+                "--server.port=" + port,
+                "--spring.data.mongodb.uri=mongodb://%s:%d/ms-security-smoke"
+                        .formatted(mongoAddress.getHostString(), mongoAddress.getPort()),
+                "--management.tracing.enabled=false",
+                // the in-memory stand-in does not implement the 'hello' command used by the Mongo health check
+                "--management.health.mongo.enabled=false")
+                .redirectErrorStream(true)
+                .redirectOutput(Files.createTempFile("native-smoke", ".log").toFile())
+                .start();
+        awaitHealthy();
+        System.out.printf("Native image ready in %d ms%n", Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    @AfterEach
+    void stopApplication() {
+        if (application != null) {
+            application.destroy();
+        }
+        if (mongo != null) {
+            mongo.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("registers Logs In And Validates Token On Native Image")
+    void registersLogsInAndValidatesTokenOnNativeImage() throws IOException, InterruptedException {
+        HttpResponse<String> register = post("/auth/register", """
+                {"documentType":"DNI","documentNumber":"70000001","userName":"native","password":"secret","role":"ROLE_USER"}""", null);
+        assertThat(register.statusCode()).isEqualTo(201);
+
+        HttpResponse<String> login = post("/auth/login", """
+                {"userName":"native","password":"secret"}""", null);
+        assertThat(login.statusCode()).isEqualTo(200);
+        Matcher token = TOKEN.matcher(login.body());
+        assertThat(token.find()).isTrue();
+
+        HttpResponse<String> validate = post("/auth/validate", "", token.group(1));
+        assertThat(validate.statusCode()).isEqualTo(200);
+        assertThat(validate.body()).contains("\"username\":\"native\"");
+    }
+
+    private HttpResponse<String> post(String path, String body, String bearer) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        while (System.nanoTime() < deadline) {
+            assertThat(application.isAlive()).as("native process alive").isTrue();
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException ex) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Native image did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.dataprogramming.security.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.config.AuditProperties;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReactiveBulkOperations bulkOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+    private AuditProperties properties;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setCapacity(3);
+        properties.setBatchSize(2);
+        properties.setFlushInterval(Duration.ofSeconds(1));
+        auditLog = new AuditLog(reactiveMongoTemplate, properties, meterRegistry, timer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.dispose();
+    }
+
+    @Test
+    @DisplayName("writes Queued Events In One Unordered Batch On Each Interval")
+    @SuppressWarnings("unchecked")
+    void writesQueuedEventsInOneUnorderedBatchOnEachInterval() {
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(true));
+        mockBulkInsert(Mono.just(mock(BulkWriteResult.class)));
+
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.LOGIN_SUCCEEDED, "abel", null));
+        verifyNoInteractions(reactiveMongoTemplate);
+
+        timer.advanceTimeBy(Duration.ofSeconds(1));
+
+        ArgumentCaptor<List<AuditEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(batch.capture());
+        assertThat(batch.getValue()).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo(SecurityEvent.Type.LOGIN_SUCCEEDED);
+            assertThat(event.userName()).isEqualTo("abel");
+        });
+        assertThat(auditLog.depth()).isZero();
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.flush.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flushes As Soon As A Full Batch Is Waiting")
+    void flushesAsSoonAsAFullBatchIsWaiting() {
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(true));
+        mockBulkInsert(Mono.just(mock(BulkWriteResult.class)));
+
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.USER_REGISTERED, "abel", null));
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.USER_DELETED, "abel", "1"));
+
+        verify(bulkOperations).insert(anyList());
+        assertThat(auditLog.depth()).isZero();
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("ignores Events That Are Not Audited")
+    void ignoresEventsThatAreNotAudited() {
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.TOKEN_REJECTED, null, "invalid token"));
+
+        assertThat(auditLog.depth()).isZero();
+        timer.advanceTimeBy(Duration.ofSeconds(1));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("drops The Oldest Events When The Queue Is Full")
+    @SuppressWarnings("unchecked")
+    void dropsTheOldestEventsWhenTheQueueIsFull() {
+        properties.setBatchSize(10);
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(true));
+        mockBulkInsert(Mono.just(mock(BulkWriteResult.class)));
+
+        for (int i = 0; i < 5; i++) {
+            auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.LOGIN_FAILED, "user" + i, null));
+        }
+        assertThat(auditLog.depth()).isEqualTo(3);
+        assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(2);
+
+        StepVerifier.create(auditLog.flushAll()).verifyComplete();
+
+        ArgumentCaptor<List<AuditEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(batch.capture());
+        assertThat(batch.getValue()).extracting(AuditEvent::userName).containsExactly("user2", "user3", "user4");
+    }
+
+    @Test
+    @DisplayName("puts A Failed Batch Back In The Queue")
+    void putsAFailedBatchBackInTheQueue() {
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(true));
+        mockBulkInsert(Mono.error(new IllegalStateException("mongo down")));
+
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.TOKEN_REFRESHED, "abel", null));
+        StepVerifier.create(auditLog.flushAll()).verifyComplete();
+
+        assertThat(auditLog.depth()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.flush.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("creates The Capped Collection Once When Missing")
+    @SuppressWarnings("unchecked")
+    void createsTheCappedCollectionOnceWhenMissing() {
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(false));
+        when(reactiveMongoTemplate.createCollection(eq("audit_log"), any(CollectionOptions.class)))
+                .thenReturn(Mono.just(mock(MongoCollection.class)));
+        mockBulkInsert(Mono.just(mock(BulkWriteResult.class)));
+
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.LOGIN_SUCCEEDED, "abel", null));
+        StepVerifier.create(auditLog.flushAll()).verifyComplete();
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.LOGIN_SUCCEEDED, "abel", null));
+        StepVerifier.create(auditLog.flushAll()).verifyComplete();
+
+        ArgumentCaptor<CollectionOptions> options = ArgumentCaptor.forClass(CollectionOptions.class);
+        verify(reactiveMongoTemplate).createCollection(eq("audit_log"), options.capture());
+        assertThat(options.getValue().getCapped()).contains(true);
+        assertThat(options.getValue().getSize()).contains(properties.getCappedSizeBytes());
+        verify(reactiveMongoTemplate).collectionExists("audit_log");
+        verify(bulkOperations, times(2)).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("flushes The Remaining Events On Shutdown")
+    void flushesTheRemainingEventsOnShutdown() {
+        when(reactiveMongoTemplate.collectionExists("audit_log")).thenReturn(Mono.just(true));
+        mockBulkInsert(Mono.just(mock(BulkWriteResult.class)));
+
+        auditLog.onEvent(SecurityEvent.of(SecurityEvent.Type.LOGIN_SUCCEEDED, "abel", null));
+        auditLog.destroy();
+
+        assertThat(auditLog.depth()).isZero();
+        timer.advanceTimeBy(Duration.ofSeconds(5));
+        verify(bulkOperations).insert(anyList());
+        verify(bulkOperations, never()).insert(any(AuditEvent.class));
+    }
+
+    private void mockBulkInsert(Mono<BulkWriteResult> result) {
+        when(reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, AuditEvent.class, "audit_log")).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(result);
+    }
+}
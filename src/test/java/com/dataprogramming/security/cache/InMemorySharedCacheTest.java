@@ -0,0 +1,97 @@
+package com.dataprogramming.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class InMemorySharedCacheTest {
+
+    @Test
+    @DisplayName("returns The Stored Value Until It Expires")
+    void returnsTheStoredValueUntilItExpires() {
+        FakeTicker ticker = new FakeTicker();
+        InMemorySharedCache cache = new InMemorySharedCache(10, ticker, Scheduler.disabledScheduler());
+
+        cache.put("key", "value", Duration.ofSeconds(30)).block();
+
+        StepVerifier.create(cache.get("key", String.class)).expectNext("value").verifyComplete();
+
+        ticker.advance(Duration.ofSeconds(30));
+
+        StepVerifier.create(cache.get("key", String.class)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("drops Expired Entries That Are Never Read Again")
+    void dropsExpiredEntriesThatAreNeverReadAgain() {
+        FakeTicker ticker = new FakeTicker();
+        InMemorySharedCache cache = new InMemorySharedCache(1_000, ticker, Scheduler.disabledScheduler());
+
+        Flux.range(0, 100)
+                .concatMap(index -> cache.put("token-" + index, "claims", Duration.ofSeconds(30)))
+                .blockLast();
+        cache.put("long-lived", "claims", Duration.ofMinutes(5)).block();
+
+        assertThat(cache.size()).isEqualTo(101);
+
+        ticker.advance(Duration.ofSeconds(30));
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keeps At Most The Maximum Number Of Entries")
+    void keepsAtMostTheMaximumNumberOfEntries() {
+        InMemorySharedCache cache = new InMemorySharedCache(10, new FakeTicker(), Scheduler.disabledScheduler());
+
+        Flux.range(0, 100)
+                .concatMap(index -> cache.put("token-" + index, "claims", Duration.ofMinutes(5)))
+                .blockLast();
+
+        assertThat(cache.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("evict Removes The Stored Value")
+    void evictRemovesTheStoredValue() {
+        InMemorySharedCache cache = new InMemorySharedCache();
+        cache.put("key", "value", Duration.ofMinutes(1)).block();
+
+        cache.evict("key").block();
+
+        StepVerifier.create(cache.get("key", String.class)).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("delivers Published Messages To The Subscribers Of The Channel")
+    void deliversPublishedMessagesToTheSubscribersOfTheChannel() {
+        InMemorySharedCache cache = new InMemorySharedCache();
+
+        StepVerifier.create(cache.subscribe("channel").take(1))
+                .then(() -> cache.publish("other", "ignored").then(cache.publish("channel", "message")).block())
+                .expectNext("message")
+                .verifyComplete();
+    }
+
+    private static final class FakeTicker implements Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        private void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    }
+}
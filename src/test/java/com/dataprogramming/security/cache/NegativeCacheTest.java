@@ -0,0 +1,76 @@
+package com.dataprogramming.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+class NegativeCacheTest {
+
+    private InMemorySharedCache sharedCache;
+    private SimpleMeterRegistry meterRegistry;
+    private NegativeCache negativeCache;
+
+    @BeforeEach
+    void setUp() {
+        sharedCache = new InMemorySharedCache();
+        meterRegistry = new SimpleMeterRegistry();
+        negativeCache = newCache();
+    }
+
+    @Test
+    @DisplayName("remembers Keys Added At The Current Generation")
+    void remembersKeysAddedAtTheCurrentGeneration() {
+        negativeCache.add("ghost", negativeCache.generation());
+
+        assertThat(negativeCache.contains("ghost")).isTrue();
+        assertThat(negativeCache.contains("other")).isFalse();
+        assertThat(meterRegistry.get("auth.cache.requests").tag("cache", "unknown").tag("result", "negative_hit")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ignores Keys Whose Lookup Overlapped An Invalidation")
+    void ignoresKeysWhoseLookupOverlappedAnInvalidation() {
+        long generation = negativeCache.generation();
+        negativeCache.invalidate("ghost").block();
+
+        negativeCache.add("ghost", generation);
+
+        assertThat(negativeCache.contains("ghost")).isFalse();
+    }
+
+    @Test
+    @DisplayName("invalidate Forgets The Key On Every Replica")
+    void invalidateForgetsTheKeyOnEveryReplica() {
+        NegativeCache otherReplica = newCache();
+        otherReplica.add("ghost", otherReplica.generation());
+
+        negativeCache.invalidate("ghost").block();
+
+        assertThat(otherReplica.contains("ghost")).isFalse();
+        otherReplica.destroy();
+    }
+
+    @Test
+    @DisplayName("keeps At Most The Maximum Number Of Keys")
+    void keepsAtMostTheMaximumNumberOfKeys() {
+        for (int i = 0; i < 1_000; i++) {
+            negativeCache.add("ghost-" + i, negativeCache.generation());
+        }
+
+        long remembered = IntStream.range(0, 1_000)
+                .filter(i -> negativeCache.contains("ghost-" + i))
+                .count();
+        assertThat(remembered).isLessThanOrEqualTo(10);
+    }
+
+    private NegativeCache newCache() {
+        return new NegativeCache("unknown", 10, Duration.ofMinutes(1), sharedCache, meterRegistry);
+    }
+}
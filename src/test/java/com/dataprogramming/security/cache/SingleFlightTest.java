@@ -0,0 +1,125 @@
+package com.dataprogramming.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+    private AtomicInteger subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        subscriptions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("shares One In Flight Lookup Between Concurrent Subscribers")
+    void sharesOneInFlightLookupBetweenConcurrentSubscribers() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        singleFlight.execute("abel", () -> track(result.asMono())).subscribe(first::set);
+        singleFlight.execute("abel", () -> track(result.asMono())).subscribe(second::set);
+        result.tryEmitValue("user");
+
+        assertThat(subscriptions).hasValue(1);
+        assertThat(first).hasValue("user");
+        assertThat(second).hasValue("user");
+        assertThat(singleFlight.coalescingRatio()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("auth.lookup.coalescing.ratio").tag("lookup", "test").gauge().value())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("runs A New Lookup Once The Previous One Has Completed")
+    void runsANewLookupOnceThePreviousOneHasCompleted() {
+        StepVerifier.create(singleFlight.execute("abel", () -> track(Mono.just("first")))).expectNext("first").verifyComplete();
+        StepVerifier.create(singleFlight.execute("abel", () -> track(Mono.just("second")))).expectNext("second").verifyComplete();
+
+        assertThat(subscriptions).hasValue(2);
+        assertThat(singleFlight.coalescingRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("starts A New Lookup From Within The Result Of The Previous One")
+    void startsANewLookupFromWithinTheResultOfThePreviousOne() {
+        Mono<String> chained = singleFlight.execute("abel", () -> track(Mono.just("first")))
+                .flatMap(first -> singleFlight.execute("abel", () -> track(Mono.just("second"))));
+
+        StepVerifier.create(chained).expectNext("second").verifyComplete();
+
+        assertThat(subscriptions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("propagates The Error To Every Subscriber And Releases The Key")
+    void propagatesTheErrorToEverySubscriberAndReleasesTheKey() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<Throwable> second = new AtomicReference<>();
+
+        singleFlight.execute("abel", () -> track(result.asMono())).subscribe(value -> { }, first::set);
+        singleFlight.execute("abel", () -> track(result.asMono())).subscribe(value -> { }, second::set);
+        result.tryEmitError(new IllegalStateException("mongo down"));
+
+        assertThat(first.get()).hasMessage("mongo down");
+        assertThat(second.get()).hasMessage("mongo down");
+        StepVerifier.create(singleFlight.execute("abel", () -> track(Mono.just("user")))).expectNext("user").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("keeps The Lookup Running While Any Subscriber Remains")
+    void keepsTheLookupRunningWhileAnySubscriberRemains() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<String> remaining = new AtomicReference<>();
+
+        Disposable leaving = singleFlight.execute("abel", () -> cancellable(result, cancelled)).subscribe();
+        singleFlight.execute("abel", () -> cancellable(result, cancelled)).subscribe(remaining::set);
+        leaving.dispose();
+        result.tryEmitValue("user");
+
+        assertThat(cancelled).isFalse();
+        assertThat(remaining).hasValue("user");
+    }
+
+    @Test
+    @DisplayName("cancels The Lookup When Every Subscriber Has Cancelled")
+    void cancelsTheLookupWhenEverySubscriberHasCancelled() {
+        Sinks.One<String> result = Sinks.one();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Disposable first = singleFlight.execute("abel", () -> cancellable(result, cancelled)).subscribe();
+        Disposable second = singleFlight.execute("abel", () -> cancellable(result, cancelled)).subscribe();
+        first.dispose();
+        second.dispose();
+
+        assertThat(cancelled).isTrue();
+        StepVerifier.create(singleFlight.execute("abel", () -> track(Mono.just("user")))).expectNext("user").verifyComplete();
+    }
+
+    private Mono<String> track(Mono<String> source) {
+        return source.doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+    }
+
+    private Mono<String> cancellable(Sinks.One<String> result, AtomicBoolean cancelled) {
+        return track(result.asMono()).doOnCancel(() -> cancelled.set(true));
+    }
+}
@@ -0,0 +1,173 @@
+package com.dataprogramming.security.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TwoTierCacheTest {
+
+    private InMemorySharedCache sharedCache;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache<String> cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        sharedCache = new InMemorySharedCache();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache(sharedCache);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    @DisplayName("loads On Miss And Serves The Next Lookup From The Local Level")
+    void loadsOnMissAndServesTheNextLookupFromTheLocalLevel() {
+        StepVerifier.create(cache.get("abel", this::load).then(cache.get("abel", this::load)))
+                .expectNext("value-1")
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("l1_hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("serves A Value Cached By Another Replica From The Shared Level")
+    void servesAValueCachedByAnotherReplicaFromTheSharedLevel() {
+        TwoTierCache<String> otherReplica = newCache(sharedCache);
+        otherReplica.get("abel", this::load).block();
+
+        StepVerifier.create(cache.get("abel", this::load))
+                .expectNext("value-1")
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(count("l2_hit")).isEqualTo(1);
+        otherReplica.destroy();
+    }
+
+    @Test
+    @DisplayName("invalidate Drops The Key From Every Replica")
+    void invalidateDropsTheKeyFromEveryReplica() {
+        TwoTierCache<String> otherReplica = newCache(sharedCache);
+        otherReplica.get("abel", this::load).block();
+        cache.get("abel", this::load).block();
+
+        cache.invalidate("abel").block();
+
+        StepVerifier.create(otherReplica.get("abel", this::load))
+                .expectNext("value-2")
+                .verifyComplete();
+        otherReplica.destroy();
+    }
+
+    @Test
+    @DisplayName("does Not Cache A Value Loaded While The Key Was Invalidated")
+    void doesNotCacheAValueLoadedWhileTheKeyWasInvalidated() {
+        TwoTierCache<String> otherReplica = newCache(sharedCache);
+        Sinks.One<String> staleLoad = Sinks.one();
+
+        StepVerifier.create(cache.get("abel", staleLoad::asMono))
+                .then(() -> {
+                    otherReplica.invalidate("abel").block();
+                    staleLoad.tryEmitValue("deleted-user");
+                })
+                .expectNext("deleted-user")
+                .verifyComplete();
+
+        StepVerifier.create(cache.get("abel", this::load))
+                .expectNext("value-1")
+                .verifyComplete();
+        StepVerifier.create(otherReplica.get("abel", this::load))
+                .expectNext("value-1")
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        otherReplica.destroy();
+    }
+
+    @Test
+    @DisplayName("put Replaces The Value In Both Levels")
+    void putReplacesTheValueInBothLevels() {
+        TwoTierCache<String> otherReplica = newCache(sharedCache);
+        cache.get("abel", this::load).block();
+
+        StepVerifier.create(cache.put("abel", "updated").then(cache.get("abel", this::load)))
+                .expectNext("updated")
+                .verifyComplete();
+        StepVerifier.create(otherReplica.get("abel", this::load))
+                .expectNext("updated")
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+        otherReplica.destroy();
+    }
+
+    @Test
+    @DisplayName("does Not Cache Empty Results")
+    void doesNotCacheEmptyResults() {
+        StepVerifier.create(cache.get("missing", Mono::empty)).verifyComplete();
+        StepVerifier.create(cache.get("missing", this::load)).expectNext("value-1").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("does Not Cache Values Without Time To Live")
+    void doesNotCacheValuesWithoutTimeToLive() {
+        TwoTierCache<String> uncached = new TwoTierCache<>("expired", String.class, 10,
+                value -> Duration.ZERO, sharedCache, meterRegistry);
+
+        uncached.get("abel", this::load).block();
+
+        StepVerifier.create(uncached.get("abel", this::load))
+                .expectNext("value-2")
+                .verifyComplete();
+        uncached.destroy();
+    }
+
+    @Test
+    @DisplayName("falls Back To The Loader When The Shared Level Fails")
+    void fallsBackToTheLoaderWhenTheSharedLevelFails() {
+        SharedCache failing = mock(SharedCache.class);
+        when(failing.subscribe(anyString())).thenReturn(Flux.never());
+        when(failing.get(anyString(), any())).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(failing.put(anyString(), any(), any())).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(failing.evict(anyString())).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(failing.publish(anyString(), anyString())).thenReturn(Mono.empty());
+        TwoTierCache<String> degraded = newCache(failing);
+
+        StepVerifier.create(degraded.get("abel", this::load))
+                .expectNext("value-1")
+                .verifyComplete();
+        StepVerifier.create(degraded.invalidate("abel")).verifyComplete();
+    }
+
+    private TwoTierCache<String> newCache(SharedCache shared) {
+        return new TwoTierCache<>("test", String.class, 10, value -> Duration.ofMinutes(1), shared, meterRegistry);
+    }
+
+    private Mono<String> load() {
+        return Mono.fromSupplier(() -> "value-" + loads.incrementAndGet());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("auth.cache.requests").tag("cache", "test").tag("result", result).counter().count();
+    }
+}
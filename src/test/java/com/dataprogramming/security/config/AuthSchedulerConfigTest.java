@@ -0,0 +1,57 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class AuthSchedulerConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AuthSchedulerConfig.class);
+
+    @Test
+    @DisplayName("uses Bounded Elastic Scheduler When Virtual Threads Are Disabled")
+    void usesBoundedElasticSchedulerWhenVirtualThreadsAreDisabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(Scheduler.class);
+                    assertThat(context.getBean(Scheduler.class)).isSameAs(Schedulers.boundedElastic());
+                });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("runs Tasks On Virtual Threads When Virtual Threads Are Enabled")
+    void runsTasksOnVirtualThreadsWhenVirtualThreadsAreEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> {
+                    Scheduler scheduler = context.getBean(Scheduler.class);
+                    String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+                            .subscribeOn(scheduler)
+                            .block();
+                    assertThat(thread).startsWith("auth-vt-");
+                });
+    }
+
+    @Test
+    @DisplayName("runs Tasks Off The Calling Thread")
+    void runsTasksOffTheCallingThread() {
+        contextRunner.run(context -> {
+            Scheduler scheduler = context.getBean(Scheduler.class);
+            String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+                    .subscribeOn(scheduler)
+                    .block();
+            assertThat(thread).isNotEqualTo(Thread.currentThread().getName());
+        });
+    }
+}
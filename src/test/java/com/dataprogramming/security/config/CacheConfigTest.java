@@ -0,0 +1,45 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+class CacheConfigTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("bounds The Token Time To Live By The Token Expiration")
+    void boundsTheTokenTimeToLiveByTheTokenExpiration() {
+        Claims claims = Jwts.claims().setExpiration(Date.from(NOW.plusSeconds(90)));
+
+        assertThat(CacheConfig.tokenTimeToLive(claims, Duration.ofMinutes(5), CLOCK)).isEqualTo(Duration.ofSeconds(90));
+    }
+
+    @Test
+    @DisplayName("uses The Configured Maximum For Long Lived Tokens")
+    void usesTheConfiguredMaximumForLongLivedTokens() {
+        Claims claims = Jwts.claims().setExpiration(Date.from(NOW.plusSeconds(3600)));
+
+        assertThat(CacheConfig.tokenTimeToLive(claims, Duration.ofMinutes(5), CLOCK)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(CacheConfig.tokenTimeToLive(Jwts.claims(), Duration.ofMinutes(5), CLOCK)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("returns A Non Positive Time To Live For Expired Tokens")
+    void returnsANonPositiveTimeToLiveForExpiredTokens() {
+        Claims claims = Jwts.claims().setExpiration(Date.from(NOW.minusSeconds(1)));
+
+        assertThat(CacheConfig.tokenTimeToLive(claims, Duration.ofMinutes(5), CLOCK)).isNegative();
+    }
+}
@@ -0,0 +1,38 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.MongoClientSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+class MongoConfigTest {
+
+    private final MongoConfig mongoConfig = new MongoConfig();
+
+    @Test
+    @DisplayName("applies Pool And Socket Properties To Client Settings")
+    void appliesPoolAndSocketPropertiesToClientSettings() {
+        MongoPoolProperties properties = new MongoPoolProperties();
+        properties.setMinSize(5);
+        properties.setMaxSize(50);
+        properties.setMaxWaitTime(Duration.ofMillis(500));
+        properties.setMaxConnectionIdleTime(Duration.ofSeconds(30));
+        properties.setConnectTimeout(Duration.ofSeconds(1));
+        properties.setReadTimeout(Duration.ofSeconds(3));
+
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        mongoConfig.mongoPoolCustomizer(properties).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(5);
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(50);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.SECONDS)).isEqualTo(30);
+        assertThat(settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS)).isEqualTo(1000);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS)).isEqualTo(3000);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.TokenData;
+import net.logstash.logback.appender.LogstashTcpSocketAppender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("registers jjwt Implementations Loaded By Class Name")
+    void registersJjwtImplementationsLoadedByClassName() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonSerializer"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer")).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("registers Models And Logstash Appender For Reflection")
+    void registersModelsAndLogstashAppenderForReflection() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TokenData.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(RegisterRequest.EnumRole.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LogstashTcpSocketAppender.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    }
+}
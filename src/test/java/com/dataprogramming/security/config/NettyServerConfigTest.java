@@ -0,0 +1,117 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+class NettyServerConfigTest {
+
+    private final NettyServerConfig nettyServerConfig = new NettyServerConfig();
+
+    @Test
+    @DisplayName("enables H2c And Applies Connection Properties")
+    void enablesH2cAndAppliesConnectionProperties() {
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setMaxConcurrentStreams(128);
+        properties.setIdleTimeout(Duration.ofSeconds(30));
+        properties.setMaxKeepAliveRequests(1000);
+
+        var configuration = nettyServerConfig.nettyServerCustomizer(properties, loops(null))
+                .apply(HttpServer.create())
+                .configuration();
+
+        assertThat(configuration.protocols()).containsExactlyInAnyOrder(HttpProtocol.HTTP11, HttpProtocol.H2C);
+        assertThat(configuration.http2SettingsSpec().maxConcurrentStreams()).isEqualTo(128);
+        assertThat(configuration.idleTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(configuration.maxKeepAliveRequests()).isEqualTo(1000);
+        assertThat(configuration.childOptions().get(ChannelOption.SO_KEEPALIVE)).isEqualTo(true);
+        assertThat(configuration.compressPredicate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("keeps Http11 Only And Disables Compression When Configured")
+    void keepsHttp11OnlyAndDisablesCompressionWhenConfigured() {
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setH2c(false);
+        properties.getCompression().setEnabled(false);
+
+        var configuration = nettyServerConfig.nettyServerCustomizer(properties, loops(null))
+                .apply(HttpServer.create())
+                .configuration();
+
+        assertThat(configuration.protocols()).containsExactly(HttpProtocol.HTTP11);
+        assertThat(configuration.compressPredicate()).isNull();
+        assertThat(configuration.minCompressionSize()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("runs On Dedicated Event Loops When Configured")
+    void runsOnDedicatedEventLoopsWhenConfigured() {
+        NettyServerProperties properties = new NettyServerProperties();
+        properties.setEventLoopThreads(2);
+        LoopResources loopResources = nettyServerConfig.nettyServerLoopResources(properties);
+        try {
+            var configuration = nettyServerConfig.nettyServerCustomizer(properties, loops(loopResources))
+                    .apply(HttpServer.create())
+                    .configuration();
+
+            assertThat(configuration.loopResources()).isSameAs(loopResources);
+        } finally {
+            loopResources.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("compresses Only Listed Mime Types Above The Minimum Size")
+    void compressesOnlyListedMimeTypesAboveTheMinimumSize() {
+        NettyServerProperties.Compression compression = new NettyServerProperties.Compression();
+        compression.setMinResponseSize(DataSize.ofBytes(1024));
+        compression.setMimeTypes(List.of("application/json"));
+        BiPredicate<HttpServerRequest, HttpServerResponse> predicate = NettyServerConfig.compressionPredicate(compression);
+
+        assertThat(predicate.test(null, response("application/json", "4096"))).isTrue();
+        assertThat(predicate.test(null, response("application/json;charset=UTF-8", null))).isTrue();
+        assertThat(predicate.test(null, response("application/json", "512"))).isFalse();
+        assertThat(predicate.test(null, response("application/cbor", "4096"))).isFalse();
+        assertThat(predicate.test(null, response(null, "4096"))).isFalse();
+        assertThat(predicate.test(null, response("not a mime type", "4096"))).isFalse();
+    }
+
+    private static HttpServerResponse response(String contentType, String contentLength) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        if (contentType != null) {
+            headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        }
+        if (contentLength != null) {
+            headers.set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        }
+        HttpServerResponse response = mock(HttpServerResponse.class);
+        when(response.responseHeaders()).thenReturn(headers);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<LoopResources> loops(LoopResources loopResources) {
+        ObjectProvider<LoopResources> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(loopResources);
+        return provider;
+    }
+}
@@ -2,6 +2,7 @@ package com.dataprogramming.security.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.dataprogramming.security.config.authorization.RouteAuthorizationManager;
 import com.dataprogramming.security.config.filter.JwtAuthenticationFilter;
 
 import org.junit.jupiter.api.DisplayName;
@@ -9,9 +10,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -38,4 +48,61 @@ class SecurityConfigTest {
         assertThat(chain).isNotNull();
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("token Endpoints And Actuator Are Public")
+    void tokenEndpointsAndActuatorArePublic() {
+        RouteAuthorizationManager manager = SecurityConfig.routeAuthorizationManager(false);
+
+        assertThat(check(manager, MockServerHttpRequest.post("/auth/login"), null)).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.post("/auth/register"), null)).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.get("/actuator/health/readiness"), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("user Management Requires The Matching Role")
+    void userManagementRequiresTheMatchingRole() {
+        RouteAuthorizationManager manager = SecurityConfig.routeAuthorizationManager(false);
+
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/users"), null)).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/users"), "ROLE_USER")).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/users"), "ROLE_READ")).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/users/42"), "ROLE_READ")).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.delete("/auth/users/42"), "ROLE_READ")).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.delete("/auth/users/42"), "ROLE_ADMIN")).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.post("/auth/users/import"), "ROLE_WRITE")).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.post("/auth/users/import"), "ROLE_READ")).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/events"), "ROLE_READ")).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/auth/events"), "ROLE_ADMIN")).isTrue();
+    }
+
+    @Test
+    @DisplayName("profiling Endpoint Requires Admin")
+    void profilingEndpointRequiresAdmin() {
+        RouteAuthorizationManager manager = SecurityConfig.routeAuthorizationManager(false);
+
+        assertThat(check(manager, MockServerHttpRequest.post("/actuator/profiling"), null)).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/actuator/profiling"), "ROLE_READ")).isFalse();
+        assertThat(check(manager, MockServerHttpRequest.get("/actuator/profiling"), "ROLE_ADMIN")).isTrue();
+        assertThat(check(manager, MockServerHttpRequest.get("/actuator/prometheus"), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("api Docs Are Public Only When Springdoc Is Present")
+    void apiDocsArePublicOnlyWhenSpringdocIsPresent() {
+        assertThat(check(SecurityConfig.routeAuthorizationManager(false), MockServerHttpRequest.get("/v3/api-docs"), null))
+                .isFalse();
+        assertThat(check(SecurityConfig.routeAuthorizationManager(true), MockServerHttpRequest.get("/v3/api-docs"), null))
+                .isTrue();
+        assertThat(check(SecurityConfig.routeAuthorizationManager(true), MockServerHttpRequest.get("/swagger-ui/index.html"), null))
+                .isTrue();
+    }
+
+    private static boolean check(RouteAuthorizationManager manager, MockServerHttpRequest.BaseBuilder<?> request,
+                                 String role) {
+        Mono<Authentication> authentication = role == null
+                ? Mono.empty()
+                : Mono.just(new UsernamePasswordAuthenticationToken("abel", null, List.of(new SimpleGrantedAuthority(role))));
+        AuthorizationContext context = new AuthorizationContext(MockServerWebExchange.from(request.build()));
+        return manager.authorize(authentication, context).block().isGranted();
+    }
+}
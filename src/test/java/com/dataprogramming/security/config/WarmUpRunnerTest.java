@@ -0,0 +1,113 @@
+package com.dataprogramming.security.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.util.TestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    @Spy
+    private WarmUpProperties properties = new WarmUpProperties();
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil(TestUtil.buildDefaultJwtProperties());
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    @Mock
+    private ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate;
+    @Spy
+    private Scheduler authScheduler = Schedulers.immediate();
+
+    @InjectMocks
+    private WarmUpRunner warmUpRunner;
+
+    @BeforeEach
+    void setUp() {
+        properties.setIterations(3);
+        properties.setPasswordIterations(2);
+        properties.setMongoConnections(4);
+        lenient().when(reactiveMongoTemplate.getIfAvailable()).thenReturn(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("exercises Jwt Password Encoder And Mongo When Enabled")
+    void exercisesJwtPasswordEncoderAndMongoWhenEnabled() throws Exception {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(Mono.just(new Document("ok", 1)));
+
+        warmUpRunner.run(null);
+
+        verify(jwtUtil, times(3)).generateToken(any());
+        verify(jwtUtil, times(3)).extractAllClaims(anyString());
+        verify(passwordEncoder, times(2)).matches("warm-up-password", "hash");
+        verify(mongoTemplate, times(4)).executeCommand(any(Document.class));
+    }
+
+    @Test
+    @DisplayName("continues With Remaining Steps When Mongo Is Unavailable")
+    void continuesWithRemainingStepsWhenMongoIsUnavailable() throws Exception {
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(passwordEncoder.encode(anyString())).thenThrow(new IllegalStateException("encoder down"));
+
+        warmUpRunner.run(null);
+
+        verify(jwtUtil, times(3)).generateToken(any());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(mongoTemplate, atLeastOnce()).executeCommand(any(Document.class));
+    }
+
+    @Test
+    @DisplayName("skips Mongo When The User Store Runs In Memory")
+    void skipsMongoWhenTheUserStoreRunsInMemory() throws Exception {
+        when(reactiveMongoTemplate.getIfAvailable()).thenReturn(null);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+
+        warmUpRunner.run(null);
+
+        verify(passwordEncoder, times(2)).matches("warm-up-password", "hash");
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("does Nothing When Disabled")
+    void doesNothingWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+
+        warmUpRunner.run(null);
+
+        verifyNoInteractions(passwordEncoder, mongoTemplate);
+        verify(jwtUtil, never()).generateToken(any());
+    }
+}
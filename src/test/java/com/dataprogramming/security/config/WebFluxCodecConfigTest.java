@@ -0,0 +1,37 @@
+package com.dataprogramming.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.codec.AuthResponseJsonEncoder;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.UserResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+class WebFluxCodecConfigTest {
+
+    private final ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+
+    @Test
+    @DisplayName("resolves Auth Responses To Custom Encoder Before Jackson")
+    void resolvesAuthResponsesToCustomEncoderBeforeJackson() {
+        new WebFluxCodecConfig().configureHttpMessageCodecs(configurer);
+
+        assertThat(firstWriterFor(TokenResponse.class).getEncoder()).isInstanceOf(AuthResponseJsonEncoder.class);
+        assertThat(firstWriterFor(UserResponse.class).getEncoder()).isInstanceOf(Jackson2JsonEncoder.class);
+    }
+
+    private EncoderHttpMessageWriter<?> firstWriterFor(Class<?> type) {
+        HttpMessageWriter<?> writer = configurer.getWriters().stream()
+                .filter(candidate -> candidate.canWrite(ResolvableType.forClass(type), MediaType.APPLICATION_JSON))
+                .findFirst()
+                .orElseThrow();
+        return (EncoderHttpMessageWriter<?>) writer;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dataprogramming.security.config.authorization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class RouteAuthorizationManagerTest {
+
+    private final RouteAuthorizationManager manager = RouteAuthorizationManager.builder()
+            .permitAll(HttpMethod.POST, "/auth/login")
+            .permitAll(null, "/public/**")
+            .hasAnyAuthority(HttpMethod.GET, "/users/{id}", "ROLE_READ", "ROLE_ADMIN")
+            .hasAnyAuthority(HttpMethod.POST, "/users/import", "ROLE_WRITE")
+            .hasAnyAuthority(null, "/users/{id}/audit/**", "ROLE_ADMIN")
+            .build();
+
+    @Test
+    @DisplayName("resolves Literal Segments Before Variables")
+    void resolvesLiteralSegmentsBeforeVariables() {
+        assertThat(resolve(HttpMethod.POST, "/users/import").authorities()).containsExactly("ROLE_WRITE");
+        assertThat(resolve(HttpMethod.GET, "/users/import").authorities()).containsExactlyInAnyOrder("ROLE_READ", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("resolves Catch All Routes At Any Depth")
+    void resolvesCatchAllRoutesAtAnyDepth() {
+        assertThat(resolve(HttpMethod.GET, "/public").permitAll()).isTrue();
+        assertThat(resolve(HttpMethod.DELETE, "/public/a/b/c").permitAll()).isTrue();
+        assertThat(resolve(HttpMethod.GET, "/users/7/audit/2025/01").authorities()).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("requires Authentication For Routes Without A Rule")
+    void requiresAuthenticationForRoutesWithoutARule() {
+        assertThat(resolve(HttpMethod.GET, "/auth/login")).isEqualTo(RouteAuthorizationManager.Rule.AUTHENTICATED);
+        assertThat(resolve(HttpMethod.GET, "/unknown/route")).isEqualTo(RouteAuthorizationManager.Rule.AUTHENTICATED);
+        assertThat(resolve(HttpMethod.DELETE, "/users/7")).isEqualTo(RouteAuthorizationManager.Rule.AUTHENTICATED);
+    }
+
+    @Test
+    @DisplayName("grants Public Routes Without Reading The Authentication")
+    void grantsPublicRoutesWithoutReadingTheAuthentication() {
+        Mono<Authentication> authentication = Mono.error(new IllegalStateException("must not be read"));
+
+        StepVerifier.create(manager.authorize(authentication, context(MockServerHttpRequest.post("/auth/login"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("checks The Authorities Of The Authenticated User")
+    void checksTheAuthoritiesOfTheAuthenticatedUser() {
+        StepVerifier.create(manager.authorize(user("ROLE_READ"), context(MockServerHttpRequest.get("/users/7"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isTrue())
+                .verifyComplete();
+        StepVerifier.create(manager.authorize(user("ROLE_USER"), context(MockServerHttpRequest.get("/users/7"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isFalse())
+                .verifyComplete();
+        StepVerifier.create(manager.authorize(user("ROLE_USER"), context(MockServerHttpRequest.get("/other"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("denies Protected Routes To Anonymous Requests")
+    void deniesProtectedRoutesToAnonymousRequests() {
+        TestingAuthenticationToken unauthenticated = new TestingAuthenticationToken("abel", null, "ROLE_READ");
+        unauthenticated.setAuthenticated(false);
+
+        StepVerifier.create(manager.authorize(Mono.empty(), context(MockServerHttpRequest.get("/other"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isFalse())
+                .verifyComplete();
+        StepVerifier.create(manager.authorize(Mono.just(unauthenticated), context(MockServerHttpRequest.get("/users/7"))))
+                .assertNext(decision -> assertThat(decision.isGranted()).isFalse())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("rejects Catch All Segments Before The End Of The Path")
+    void rejectsCatchAllSegmentsBeforeTheEndOfThePath() {
+        assertThatThrownBy(() -> RouteAuthorizationManager.builder().permitAll(null, "/a/**/b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RouteAuthorizationManager.Rule resolve(HttpMethod method, String path) {
+        return manager.resolve(method, PathContainer.parsePath(path));
+    }
+
+    private static Mono<Authentication> user(String role) {
+        return Mono.just(new UsernamePasswordAuthenticationToken("abel", null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static AuthorizationContext context(MockServerHttpRequest.BaseBuilder<?> request) {
+        return new AuthorizationContext(MockServerWebExchange.from(request.build()));
+    }
+}
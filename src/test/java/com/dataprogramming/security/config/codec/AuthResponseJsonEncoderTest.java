@@ -0,0 +1,97 @@
+package com.dataprogramming.security.config.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.security.model.AuthResponse;
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.util.TestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+class AuthResponseJsonEncoderTest {
+
+    private final AuthResponseJsonEncoder encoder = new AuthResponseJsonEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("encodes Only Auth Responses As Json")
+    void encodesOnlyAuthResponsesAsJson() {
+        assertThat(encoder.canEncode(ResolvableType.forClass(TokenResponse.class), MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(encoder.canEncode(ResolvableType.forClass(AuthResponse.class), null)).isTrue();
+        assertThat(encoder.canEncode(ResolvableType.forClass(TokenData.class), MediaType.ALL)).isTrue();
+        assertThat(encoder.canEncode(ResolvableType.forClass(UserResponse.class), MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(TokenResponse.class), MediaType.APPLICATION_NDJSON)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"john_doe", "jöhn \"quoted\" \\ back", "tab\tnew\nline\u0001", "emoji 😀 é €", "lone \uD800"})
+    @DisplayName("writes The Same Bytes As Jackson")
+    void writesTheSameBytesAsJackson(String username) throws Exception {
+        String token = TestUtil.getToken().substring("Bearer ".length());
+        TokenData tokenData = new TokenData(token, username, "ROLE_USER", true);
+
+        assertSameAsJackson(new AuthResponse(token));
+        assertSameAsJackson(tokenData);
+        assertSameAsJackson(new TokenResponse(true, "Valid token", tokenData));
+    }
+
+    @Test
+    @DisplayName("writes Nulls The Same Way As Jackson")
+    void writesNullsTheSameWayAsJackson() throws Exception {
+        assertSameAsJackson(new TokenResponse(false, "Invalid token", null));
+        assertSameAsJackson(new TokenResponse(false, null, new TokenData(null, null, null, false)));
+        assertSameAsJackson(new AuthResponse(null));
+    }
+
+    @Test
+    @DisplayName("encodes Mono As Single Buffer And Flux As Json Array")
+    void encodesMonoAsSingleBufferAndFluxAsJsonArray() throws Exception {
+        AuthResponse first = new AuthResponse("a");
+        AuthResponse second = new AuthResponse("b");
+
+        StepVerifier.create(encoder.encode(Mono.just(first), DefaultDataBufferFactory.sharedInstance,
+                        ResolvableType.forClass(AuthResponse.class), MediaType.APPLICATION_JSON, Collections.emptyMap()))
+                .assertNext(buffer -> assertThat(read(buffer)).isEqualTo("{\"token\":\"a\"}"))
+                .verifyComplete();
+
+        StepVerifier.create(DataBufferUtils.join(encoder.encode(Flux.just(first, second), DefaultDataBufferFactory.sharedInstance,
+                        ResolvableType.forClass(AuthResponse.class), MediaType.APPLICATION_JSON, Collections.emptyMap())))
+                .assertNext(buffer -> assertThat(read(buffer))
+                        .isEqualTo("[{\"token\":\"a\"},{\"token\":\"b\"}]"))
+                .verifyComplete();
+
+        StepVerifier.create(DataBufferUtils.join(encoder.encode(Flux.empty(), DefaultDataBufferFactory.sharedInstance,
+                        ResolvableType.forClass(AuthResponse.class), MediaType.APPLICATION_JSON, Collections.emptyMap())))
+                .assertNext(buffer -> assertThat(read(buffer)).isEqualTo("[]"))
+                .verifyComplete();
+    }
+
+    private void assertSameAsJackson(Object value) throws Exception {
+        DataBuffer buffer = encoder.encodeValue(value, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forInstance(value), MediaType.APPLICATION_JSON, Collections.emptyMap());
+
+        assertThat(read(buffer)).isEqualTo(new String(objectMapper.writeValueAsBytes(value), StandardCharsets.UTF_8));
+    }
+
+    private static String read(DataBuffer buffer) {
+        String json = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return json;
+    }
+}
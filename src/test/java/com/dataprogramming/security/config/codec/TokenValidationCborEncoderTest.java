@@ -0,0 +1,148 @@
+package com.dataprogramming.security.config.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.security.model.TokenData;
+import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.TokenValidation;
+import com.dataprogramming.security.util.TestUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+class TokenValidationCborEncoderTest {
+
+    private final TokenValidationCborEncoder encoder = new TokenValidationCborEncoder();
+    private final ResolvableType type = ResolvableType.forClass(TokenValidation.class);
+
+    @Test
+    @DisplayName("encodes Only Token Validations As Cbor")
+    void encodesOnlyTokenValidationsAsCbor() {
+        assertThat(encoder.canEncode(type, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(encoder.canEncode(type, null)).isTrue();
+        assertThat(encoder.canEncode(type, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(encoder.canEncode(ResolvableType.forClass(TokenResponse.class), MediaType.APPLICATION_CBOR)).isFalse();
+    }
+
+    @Test
+    @DisplayName("writes A Definite Length Map Keyed By Component Name")
+    void writesADefiniteLengthMapKeyedByComponentName() {
+        byte[] expected = cbor()
+                .raw(0xA5)
+                .text("valid").raw(0xF5)
+                .text("message").text("Valid token")
+                .text("username").text("abel")
+                .text("role").text("ROLE_USER")
+                .text("enabled").raw(0xF5)
+                .bytes();
+
+        assertThat(encode(new TokenValidation(true, "Valid token", "abel", "ROLE_USER", true))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("leaves Out Null Strings")
+    void leavesOutNullStrings() {
+        byte[] expected = cbor()
+                .raw(0xA3)
+                .text("valid").raw(0xF4)
+                .text("message").text("Invalid token")
+                .text("enabled").raw(0xF4)
+                .bytes();
+
+        assertThat(encode(new TokenValidation(false, "Invalid token", null, null, false))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("writes Long And Non Ascii Strings With Their Utf8 Length")
+    void writesLongAndNonAsciiStringsWithTheirUtf8Length() {
+        String medium = "u".repeat(200);
+        String large = "ü".repeat(200);
+
+        byte[] encoded = encode(new TokenValidation(true, null, medium, large, true));
+
+        byte[] expected = cbor()
+                .raw(0xA4)
+                .text("valid").raw(0xF5)
+                .text("username").raw(0x78, 200).raw(medium.getBytes(StandardCharsets.US_ASCII))
+                .text("role").raw(0x79, 0x01, 0x90).raw(large.getBytes(StandardCharsets.UTF_8))
+                .text("enabled").raw(0xF5)
+                .bytes();
+        assertThat(encoded).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("writes A Cbor Sequence For A Stream")
+    void writesACborSequenceForAStream() {
+        TokenValidation validation = new TokenValidation(false, "Invalid token", null, null, false);
+
+        StepVerifier.create(encoder.encode(Flux.just(validation, validation), DefaultDataBufferFactory.sharedInstance,
+                        type, MediaType.APPLICATION_CBOR, Collections.emptyMap()))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("is Less Than Half The Size Of The Json Validation Response")
+    void isLessThanHalfTheSizeOfTheJsonValidationResponse() {
+        String token = TestUtil.getToken().substring("Bearer ".length());
+        DataBuffer json = new AuthResponseJsonEncoder().encodeValue(
+                new TokenResponse(true, "Valid token", new TokenData(token, "john_doe", "ROLE_USER", true)),
+                DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(TokenResponse.class),
+                MediaType.APPLICATION_JSON, Collections.emptyMap());
+
+        byte[] compact = encode(new TokenValidation(true, "Valid token", "john_doe", "ROLE_USER", true));
+
+        assertThat(compact.length * 2).isLessThan(json.readableByteCount());
+    }
+
+    private byte[] encode(TokenValidation validation) {
+        DataBuffer buffer = encoder.encodeValue(validation, DefaultDataBufferFactory.sharedInstance, type,
+                MediaType.APPLICATION_CBOR, Collections.emptyMap());
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static Cbor cbor() {
+        return new Cbor();
+    }
+
+    private static final class Cbor {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Cbor raw(int... values) {
+            for (int value : values) {
+                out.write(value);
+            }
+            return this;
+        }
+
+        Cbor raw(byte[] bytes) {
+            out.writeBytes(bytes);
+            return this;
+        }
+
+        /** Short (under 24 bytes) ASCII text string. */
+        Cbor text(String value) {
+            out.write(0x60 | value.length());
+            out.writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.dataprogramming.security.config.filter;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.security.jwt.TokenClaims;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import org.assertj.core.api.Assertions;
@@ -14,26 +21,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private TokenVerifier tokenVerifier;
+
+    @Mock
+    private SecurityEventBus securityEventBus;
 
     @Mock
     private WebFilterChain chain;
 
+    @Spy
+    private TenantResolver tenantResolver = new TenantResolver(tenantProperties());
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -63,7 +82,7 @@ class JwtAuthenticationFilterTest {
         Claims claims = Jwts.claims().setSubject("user1");
         claims.put("role", "ADMIN");
 
-        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
+        when(tokenVerifier.verify(token)).thenReturn(Mono.just(claims));
 
         Mono<Void> result = jwtAuthenticationFilter.filter(exchange, chain);
 
@@ -74,6 +93,50 @@ class JwtAuthenticationFilterTest {
         verify(chain).filter(exchange);
     }
 
+    @Test
+    @DisplayName("uses The Role Claim As The Authority Without Prefixing It Again")
+    void usesTheRoleClaimAsTheAuthorityWithoutPrefixingItAgain() {
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        when(chain.filter(any())).thenReturn(ReactiveSecurityContextHolder.getContext()
+                .doOnNext(context -> authentication.set(context.getAuthentication()))
+                .then());
+        String token = "valid.jwt.token";
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        Claims claims = Jwts.claims().setSubject("user1");
+        claims.put("role", "ROLE_ADMIN");
+        when(tokenVerifier.verify(token)).thenReturn(Mono.just(claims));
+
+        StepVerifier.create(jwtAuthenticationFilter.filter(exchange, chain)).verifyComplete();
+
+        Assertions.assertThat(authentication.get().getName()).isEqualTo("user1");
+        Assertions.assertThat(authentication.get().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("replaces The Tenant Of The Header With The Tenant Claim")
+    void replacesTheTenantOfTheHeaderWithTheTenantClaim() {
+        AtomicReference<String> tenant = new AtomicReference<>();
+        when(chain.filter(any())).thenReturn(TenantContext.current().doOnNext(tenant::set).then());
+        String token = "valid.jwt.token";
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        Claims claims = Jwts.claims().setSubject("user1");
+        claims.put(TokenClaims.TENANT, "bank-a");
+        when(tokenVerifier.verify(token)).thenReturn(Mono.just(claims));
+
+        StepVerifier.create(jwtAuthenticationFilter.filter(exchange, chain)
+                        .contextWrite(TenantContext.with("bank-b")))
+                .verifyComplete();
+
+        Assertions.assertThat(tenant.get()).isEqualTo("bank-a");
+        Assertions.assertThat(exchange.<String>getAttribute(TenantContext.ATTRIBUTE)).isEqualTo("bank-a");
+    }
+
     @Test
     @DisplayName("filter With Invalid Token")
     void filterWithInvalidToken() {
@@ -81,13 +144,21 @@ class JwtAuthenticationFilterTest {
         exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
 
-        when(jwtUtil.extractAllClaims(token)).thenThrow(new RuntimeException("Invalid token"));
+        when(tokenVerifier.verify(token)).thenReturn(Mono.error(new RuntimeException("Invalid token")));
 
         StepVerifier.create(jwtAuthenticationFilter.filter(exchange, chain))
                 .verifyComplete();
 
         Assertions.assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         verify(chain, never()).filter(exchange);
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.TOKEN_REJECTED
+                && event.detail().equals("invalid token on GET /test")));
     }
 
-}
\ No newline at end of file
+    private static TenantProperties tenantProperties() {
+        TenantProperties properties = new TenantProperties();
+        properties.getCollections().put("bank-a", "users_bank_a");
+        properties.getCollections().put("bank-b", "users_bank_b");
+        return properties;
+    }
+}
@@ -0,0 +1,57 @@
+package com.dataprogramming.security.config.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class TenantWebFilterTest {
+
+    private final TenantWebFilter filter = filter();
+    private final AtomicReference<String> tenant = new AtomicReference<>();
+    private final WebFilterChain chain = exchange -> TenantContext.current().doOnNext(tenant::set).then();
+
+    @Test
+    @DisplayName("writes The Tenant Of The Header Into The Context And The Exchange")
+    void writesTheTenantOfTheHeaderIntoTheContextAndTheExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+                .header("X-Tenant-Id", "bank-a"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(tenant.get()).isEqualTo("bank-a");
+        assertThat(exchange.<String>getAttribute(TenantContext.ATTRIBUTE)).isEqualTo("bank-a");
+        assertThat(filter.getOrder()).isEqualTo(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Test
+    @DisplayName("uses The Default Tenant For Missing Or Unknown Tenants")
+    void usesTheDefaultTenantForMissingOrUnknownTenants() {
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")), chain))
+                .verifyComplete();
+        assertThat(tenant.get()).isEqualTo(TenantContext.DEFAULT);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+                .header("X-Tenant-Id", "unknown-bank"));
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(tenant.get()).isEqualTo(TenantContext.DEFAULT);
+        assertThat(exchange.<String>getAttribute(TenantContext.ATTRIBUTE)).isEqualTo(TenantContext.DEFAULT);
+    }
+
+    private static TenantWebFilter filter() {
+        TenantProperties properties = new TenantProperties();
+        properties.getCollections().put("bank-a", "users_bank_a");
+        return new TenantWebFilter(properties, new TenantResolver(properties));
+    }
+}
@@ -1,6 +1,8 @@
 package com.dataprogramming.security.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -9,17 +11,23 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.security.config.WebFluxCodecConfig;
 import com.dataprogramming.security.domain.User;
 import com.dataprogramming.security.mapper.UserMapper;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
 import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
 import com.dataprogramming.security.security.model.AuthRequest;
 import com.dataprogramming.security.security.model.AuthResponse;
 import com.dataprogramming.security.security.model.RegisterRequest;
 import com.dataprogramming.security.security.model.RegisterResponse;
 import com.dataprogramming.security.security.model.TokenData;
 import com.dataprogramming.security.security.model.TokenResponse;
+import com.dataprogramming.security.security.model.TokenValidation;
 import com.dataprogramming.security.security.model.UserResponse;
 import com.dataprogramming.security.service.UserService;
+import com.dataprogramming.security.tenant.TenantContext;
 import com.dataprogramming.security.util.TestUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.jsonwebtoken.Claims;
@@ -29,15 +37,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.util.List;
 import java.util.Objects;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +70,15 @@ class AuthControllerTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private TokenVerifier tokenVerifier;
+
+    @Mock
+    private SecurityEventBus securityEventBus;
+
+    @Spy
+    private Scheduler authScheduler = Schedulers.immediate();
+
     @InjectMocks
     private AuthController authController;
 
@@ -86,8 +113,8 @@ class AuthControllerTest {
                 .assertNext(response -> {
                     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
                     assertThat(response.getBody()).isNotNull();
-                    assertThat(response.getBody().getUserName()).isEqualTo("john_doe");
-                    assertThat(response.getBody().getDocumentNumber()).isEqualTo("12345678");
+                    assertThat(response.getBody().userName()).isEqualTo("john_doe");
+                    assertThat(response.getBody().documentNumber()).isEqualTo("12345678");
                 })
                 .verifyComplete();
     }
@@ -100,7 +127,7 @@ class AuthControllerTest {
                 "request/authRequest.json", new TypeReference<>() {});
 
         when(userService.validateUser(any(), any())).thenReturn(Mono.just(user));
-        when(jwtUtil.generateToken(any())).thenReturn("mocked-jwt-token");
+        when(jwtUtil.generateToken(any(), eq(TenantContext.DEFAULT))).thenReturn("mocked-jwt-token");
 
         Mono<ResponseEntity<AuthResponse>> result = authController.login(authRequest);
 
@@ -113,6 +140,18 @@ class AuthControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Signs The Token For The Tenant Of The Request")
+    void signsTheTokenForTheTenantOfTheRequest() {
+        when(userService.validateUser(any(), any())).thenReturn(Mono.just(user));
+        when(jwtUtil.generateToken(user, "bank-a")).thenReturn("tenant-jwt-token");
+
+        StepVerifier.create(authController.login(new AuthRequest("john_doe", "password"))
+                        .contextWrite(TenantContext.with("bank-a")))
+                .assertNext(response -> assertThat(response.getBody().getToken()).isEqualTo("tenant-jwt-token"))
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Returns Unauthorized When User Is Invalid")
     void returnsUnauthorizedWhenUserIsInvalid() {
@@ -137,49 +176,118 @@ class AuthControllerTest {
 
         Claims claims = mock(Claims.class);
         when(claims.getSubject()).thenReturn("john_doe");
-        when(claims.get("role", String.class)).thenReturn("USER");
+        when(claims.get("role", String.class)).thenReturn("ROLE_USER");
         when(claims.get("enabled", Boolean.class)).thenReturn(true);
 
-        when(jwtUtil.extractAllClaims(any())).thenReturn(claims);
-
-        ResponseEntity<TokenResponse> response = authController.validateToken(TestUtil.getToken());
+        when(tokenVerifier.verify(any())).thenReturn(Mono.just(claims));
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isTrue();
-        assertThat(response.getBody().getMessage()).isEqualTo("Valid token");
+        StepVerifier.create(authController.validateToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isTrue();
+                    assertThat(response.getBody().message()).isEqualTo("Valid token");
 
-        TokenData data = response.getBody().getData();
-        assertThat(data.getUsername()).isEqualTo("john_doe");
-        assertThat(data.getRole()).isEqualTo("USER");
-        assertThat(data.isEnabled()).isTrue();
+                    TokenData data = response.getBody().data();
+                    assertThat(data.username()).isEqualTo("john_doe");
+                    assertThat(data.role()).isEqualTo("ROLE_USER");
+                    assertThat(data.enabled()).isTrue();
+                })
+                .verifyComplete();
     }
 
     @Test
     @DisplayName("Returns Unauthorized When Token Is Expired")
     void returnsUnauthorizedWhenTokenIsExpired() {
 
-        when(jwtUtil.extractAllClaims(any())).thenThrow(mock(ExpiredJwtException.class));
-        ResponseEntity<TokenResponse> response = authController.validateToken(TestUtil.getToken());
-
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isFalse();
-        assertThat(response.getBody().getMessage()).isEqualTo("The token has expired");
+        when(tokenVerifier.verify(any())).thenReturn(Mono.error(mock(ExpiredJwtException.class)));
+        StepVerifier.create(authController.validateToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isFalse();
+                    assertThat(response.getBody().message()).isEqualTo("The token has expired");
+                })
+                .verifyComplete();
     }
 
     @Test
     @DisplayName("Returns Unauthorized When Token Is Invalid")
     void returnsUnauthorizedWhenTokenIsInvalid() {
 
-        when(jwtUtil.extractAllClaims(any())).thenThrow(mock(JwtException.class));
+        when(tokenVerifier.verify(any())).thenReturn(Mono.error(mock(JwtException.class)));
+
+        StepVerifier.create(authController.validateToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isFalse();
+                    assertThat(response.getBody().message()).isEqualTo("Invalid token");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Returns Compact Validation Without Echoing The Token")
+    void returnsCompactValidationWithoutEchoingTheToken() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("john_doe");
+        when(claims.get("role", String.class)).thenReturn("ROLE_USER");
+        when(claims.get("enabled", Boolean.class)).thenReturn(true);
+        when(tokenVerifier.verify(any())).thenReturn(Mono.just(claims));
+
+        StepVerifier.create(authController.validateTokenCompact(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isEqualTo(new TokenValidation(true, "Valid token", "john_doe",
+                            "ROLE_USER", true));
+                })
+                .verifyComplete();
+    }
 
-        ResponseEntity<TokenResponse> response = authController.validateToken(TestUtil.getToken());
+    @Test
+    @DisplayName("Returns Compact Unauthorized Validation When Token Is Expired Or Invalid")
+    void returnsCompactUnauthorizedValidationWhenTokenIsExpiredOrInvalid() {
+        when(tokenVerifier.verify(any()))
+                .thenReturn(Mono.error(mock(ExpiredJwtException.class)))
+                .thenReturn(Mono.error(new JwtException("bad signature")));
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isFalse();
-        assertThat(response.getBody().getMessage()).isEqualTo("Invalid token");
+        StepVerifier.create(authController.validateTokenCompact(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody()).isEqualTo(new TokenValidation(false, "The token has expired", null,
+                            null, false));
+                })
+                .verifyComplete();
+        StepVerifier.create(authController.validateTokenCompact(TestUtil.getToken()))
+                .assertNext(response -> assertThat(response.getBody().message()).isEqualTo("Invalid token"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Negotiates Cbor Only When The Caller Accepts It")
+    void negotiatesCborOnlyWhenTheCallerAcceptsIt() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("john_doe");
+        when(claims.get("role", String.class)).thenReturn("ROLE_USER");
+        when(claims.get("enabled", Boolean.class)).thenReturn(true);
+        when(tokenVerifier.verify(any())).thenReturn(Mono.just(claims));
+        WebTestClient client = WebTestClient.bindToController(authController)
+                .httpMessageCodecs(codecs -> new WebFluxCodecConfig().configureHttpMessageCodecs(codecs))
+                .build();
+
+        client.post().uri("/auth/validate")
+                .header(HttpHeaders.AUTHORIZATION, TestUtil.getToken())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+        client.post().uri("/auth/validate")
+                .header(HttpHeaders.AUTHORIZATION, TestUtil.getToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.data.token").isNotEmpty();
     }
 
     @Test
@@ -188,54 +296,80 @@ class AuthControllerTest {
         // Arrange
         Claims claims = mock(Claims.class);
         when(claims.getSubject()).thenReturn("john_doe");
-        when(claims.get("role", String.class)).thenReturn("USER");
+        when(claims.get("role", String.class)).thenReturn("ROLE_USER");
         when(claims.get("enabled", Boolean.class)).thenReturn(true);
 
-        when(jwtUtil.extractAllClaims(any())).thenReturn(claims);
-        when(jwtUtil.generateToken(any())).thenReturn(TestUtil.getToken());
+        when(tokenVerifier.verify(any())).thenReturn(Mono.just(claims));
+        when(jwtUtil.generateToken(any(), eq(TenantContext.DEFAULT))).thenReturn(TestUtil.getToken());
 
         // Act
-        ResponseEntity<TokenResponse> response = authController.refreshToken(TestUtil.getToken() );
-
-        // Assert
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isTrue();
-        assertThat(response.getBody().getMessage()).isEqualTo("Token successfully renewed");
-
-        TokenData data = response.getBody().getData();
-        assertThat(data.getToken()).isEqualTo(TestUtil.getToken());
-        assertThat(data.getUsername()).isEqualTo("john_doe");
-        assertThat(data.getRole()).isEqualTo("USER");
-        assertThat(data.isEnabled()).isTrue();
+        StepVerifier.create(authController.refreshToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isTrue();
+                    assertThat(response.getBody().message()).isEqualTo("Token successfully renewed");
+
+                    TokenData data = response.getBody().data();
+                    assertThat(data.token()).isEqualTo(TestUtil.getToken());
+                    verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.TOKEN_REFRESHED
+                            && event.userName().equals("john_doe")));
+                    assertThat(data.username()).isEqualTo("john_doe");
+                    assertThat(data.role()).isEqualTo("ROLE_USER");
+                    assertThat(data.enabled()).isTrue();
+                })
+                .verifyComplete();
     }
 
     @Test
     @DisplayName("Returns Unauthorized When Token Is Expired And Cannot Be Refreshed")
     void returnsUnauthorizedWhenTokenIsExpiredAndCannotBeRefreshed() {
 
-        when(jwtUtil.extractAllClaims(any())).thenThrow(mock(ExpiredJwtException.class));
+        when(tokenVerifier.verify(any())).thenReturn(Mono.error(mock(ExpiredJwtException.class)));
+
+        StepVerifier.create(authController.refreshToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isFalse();
+                    assertThat(response.getBody().message()).isEqualTo("The token has expired, it cannot be refreshed");
+                })
+                .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "ROLE_ROOT")
+    @DisplayName("Returns Unauthorized When The Token To Refresh Has No Known Role")
+    void returnsUnauthorizedWhenTheTokenToRefreshHasNoKnownRole(String role) {
+        Claims claims = mock(Claims.class);
+        when(claims.get("role", String.class)).thenReturn(role);
 
-        ResponseEntity<TokenResponse> response = authController.refreshToken(TestUtil.getToken() );
+        when(tokenVerifier.verify(any())).thenReturn(Mono.just(claims));
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isFalse();
-        assertThat(response.getBody().getMessage()).isEqualTo("The token has expired, it cannot be refreshed");
+        StepVerifier.create(authController.refreshToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody().message()).isEqualTo("Invalid token");
+                })
+                .verifyComplete();
+        verifyNoInteractions(jwtUtil, securityEventBus);
     }
 
     @Test
     @DisplayName("Returns Unauthorized When Token Is Invalid To Refresh")
     void returnsUnauthorizedWhenTokenIsInvalidToRefresh() {
 
-        when(jwtUtil.extractAllClaims(any())).thenThrow(mock(JwtException.class));
-
-        ResponseEntity<TokenResponse> response = authController.refreshToken(TestUtil.getToken());
+        when(tokenVerifier.verify(any())).thenReturn(Mono.error(mock(JwtException.class)));
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().isSuccess()).isFalse();
-        assertThat(response.getBody().getMessage()).isEqualTo("Invalid token");
+        StepVerifier.create(authController.refreshToken(TestUtil.getToken()))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+                    assertThat(response.getBody()).isNotNull();
+                    assertThat(response.getBody().success()).isFalse();
+                    assertThat(response.getBody().message()).isEqualTo("Invalid token");
+                })
+                .verifyComplete();
     }
 
     @Test
@@ -243,38 +377,43 @@ class AuthControllerTest {
     void returnsUserResponsesWhenUsersExist() {
         // Arrange
         UserResponse userResponse = new UserResponse(
-                user.getId(),
-                user.getUserName(),
-                user.getDocumentNumber(),
-                user.isEnabled()
+                user.id(),
+                user.userName(),
+                user.documentNumber(),
+                user.enabled(),
+                3L
         );
 
-        when(userService.getAllUsers()).thenReturn(Flux.just(user));
-        when(userMapper.toUserResponse(any())).thenReturn(userResponse);
+        when(userService.getAllUsers()).thenReturn(Flux.just(userResponse));
 
         // Act
-        Flux<UserResponse> result = authController.getAllUsers();
+        Mono<ResponseEntity<List<UserResponse>>> result = authController.getAllUsers();
 
         // Assert
         StepVerifier.create(result)
-                .expectNext(userResponse)
+                .assertNext(response -> {
+                    assertThat(response.getBody()).containsExactly(userResponse);
+                    assertThat(response.getHeaders().getETag()).isEqualTo(AuthController.listETag(List.of(userResponse)));
+                    assertThat(response.getHeaders().getCacheControl()).contains("no-cache");
+                })
                 .verifyComplete();
 
         verify(userService, times(1)).getAllUsers();
-        verify(userMapper, times(1)).toUserResponse(any());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
-    @DisplayName("Returns Empty Flux When No Users Exist")
-    void returnsEmptyFluxWhenNoUsersExist() {
+    @DisplayName("Returns Empty List When No Users Exist")
+    void returnsEmptyListWhenNoUsersExist() {
         // Arrange
         when(userService.getAllUsers()).thenReturn(Flux.empty());
 
         // Act
-        Flux<UserResponse> result = authController.getAllUsers();
+        Mono<ResponseEntity<List<UserResponse>>> result = authController.getAllUsers();
 
         // Assert
         StepVerifier.create(result)
+                .assertNext(response -> assertThat(response.getBody()).isEmpty())
                 .verifyComplete();
 
         verify(userService, times(1)).getAllUsers();
@@ -285,30 +424,31 @@ class AuthControllerTest {
     @DisplayName("Returns Ok Response When User Exists By Id")
     void returnsOkResponseWhenUserExistsById() {
         // Arrange
-        String userId = user.getId();
+        String userId = user.id();
         UserResponse userResponse = new UserResponse(
-                user.getId(),
-                user.getUserName(),
-                user.getDocumentNumber(),
-                user.isEnabled()
+                user.id(),
+                user.userName(),
+                user.documentNumber(),
+                user.enabled(),
+                3L
         );
 
-        when(userService.getUserById(any())).thenReturn(Mono.just(user));
-        when(userMapper.toUserResponse(any())).thenReturn(userResponse);
+        when(userService.getUserById(any())).thenReturn(Mono.just(userResponse));
 
         // Act
-        Mono<ResponseEntity<UserResponse>> result = authController.getUserById(userId);
+        Mono<ResponseEntity<UserResponse>> result = authController.getUserById(userId, null);
 
         // Assert
         StepVerifier.create(result)
                 .expectNextMatches(responseEntity ->
                         responseEntity.getStatusCode().is2xxSuccessful() &&
-                                Objects.equals(responseEntity.getBody(), userResponse)
+                                Objects.equals(responseEntity.getBody(), userResponse) &&
+                                "\"3\"".equals(responseEntity.getHeaders().getETag())
                 )
                 .verifyComplete();
 
         verify(userService, times(1)).getUserById(anyString());
-        verify(userMapper, times(1)).toUserResponse(any());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
@@ -319,7 +459,7 @@ class AuthControllerTest {
         when(userService.getUserById(any())).thenReturn(Mono.empty());
 
         // Act
-        Mono<ResponseEntity<UserResponse>> result = authController.getUserById(userId);
+        Mono<ResponseEntity<UserResponse>> result = authController.getUserById(userId, null);
 
         // Assert
         StepVerifier.create(result)
@@ -333,6 +473,53 @@ class AuthControllerTest {
         verifyNoInteractions(userMapper);
     }
 
+    @Test
+    @DisplayName("Returns Not Modified From The Cached Version Without Loading The User")
+    void returnsNotModifiedFromTheCachedVersionWithoutLoadingTheUser() {
+        when(userService.getUserById(any())).thenReturn(Mono.error(new IllegalStateException("must not be loaded")));
+        when(userService.cachedUserVersion("1")).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(authController.getUserById("1", "W/\"2\", \"3\""))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+                    assertThat(response.getBody()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Loads The User When The Cached Version Is Missing Or Different")
+    void loadsTheUserWhenTheCachedVersionIsMissingOrDifferent() {
+        UserResponse userResponse = new UserResponse(user.id(), user.userName(), user.documentNumber(), user.enabled(), 4L);
+        when(userService.getUserById("1")).thenReturn(Mono.just(userResponse));
+        when(userService.cachedUserVersion("1")).thenReturn(Mono.just(4L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authController.getUserById("1", "\"3\""))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+                })
+                .verifyComplete();
+        StepVerifier.create(authController.getUserById("1", "\"4\""))
+                .assertNext(response -> assertThat(response.getBody()).isEqualTo(userResponse))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Changes The List ETag When A Version Changes")
+    void changesTheListETagWhenAVersionChanges() {
+        UserResponse first = new UserResponse("1", "abel", "123", true, 0L);
+        UserResponse second = new UserResponse("2", "ana", "456", true, 0L);
+        UserResponse secondUpdated = new UserResponse("2", "ana", "456", true, 1L);
+
+        assertThat(AuthController.listETag(List.of(first, second)))
+                .isEqualTo(AuthController.listETag(List.of(first, second)))
+                .isNotEqualTo(AuthController.listETag(List.of(first, secondUpdated)))
+                .isNotEqualTo(AuthController.listETag(List.of(first)))
+                .startsWith("\"").endsWith("\"");
+    }
+
     @Test
     @DisplayName("Returns No Content When User Is Deleted")
     void returnsNoContentWhenUserIsDeleted() {
@@ -0,0 +1,35 @@
+package com.dataprogramming.security.controller;
+
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityEventControllerTest {
+
+    @Mock
+    private SecurityEventBus securityEventBus;
+
+    @InjectMocks
+    private SecurityEventController securityEventController;
+
+    @Test
+    @DisplayName("streams The Events Of The Bus")
+    void streamsTheEventsOfTheBus() {
+        SecurityEvent event = SecurityEvent.of(SecurityEvent.Type.LOGIN_SUCCEEDED, "abel", null);
+        when(securityEventBus.subscribe()).thenReturn(Flux.just(event));
+
+        StepVerifier.create(securityEventController.streamEvents())
+                .expectNext(event)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dataprogramming.security.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.service.UserImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportControllerTest {
+
+    @Mock
+    private UserImportService userImportService;
+
+    @InjectMocks
+    private UserImportController userImportController;
+
+    @Test
+    @DisplayName("streams Import Results From Service")
+    void streamsImportResultsFromService() {
+        ImportResult created = ImportResult.builder()
+                .documentNumber("1").status(ImportResult.Status.CREATED).id("id-1").build();
+        ImportResult invalid = ImportResult.builder()
+                .documentNumber("2").status(ImportResult.Status.INVALID).message("Password cannot be blank").build();
+        when(userImportService.importUsers(any())).thenReturn(Flux.just(created, invalid));
+
+        StepVerifier.create(userImportController.importUsers(Flux.just("{}")))
+                .expectNext(created)
+                .expectNext(invalid)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("passes Each Ndjson Line To The Service Even When It Is Malformed")
+    void passesEachNdjsonLineToTheServiceEvenWhenItIsMalformed() {
+        when(userImportService.importUsers(any())).thenAnswer(invocation -> invocation.<Flux<String>>getArgument(0)
+                .map(line -> ImportResult.builder().status(ImportResult.Status.INVALID).message(line).build()));
+        WebTestClient client = WebTestClient.bindToController(userImportController).build();
+
+        client.post().uri("/auth/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"documentNumber\":\"1\"}\n{\"documentNumber\":\n{\"documentNumber\":\"3\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ImportResult.class)
+                .value(results -> assertThat(results).extracting(ImportResult::getMessage).containsExactly(
+                        "{\"documentNumber\":\"1\"}", "{\"documentNumber\":", "{\"documentNumber\":\"3\"}"));
+    }
+
+    @Test
+    @DisplayName("propagates Error When Import Is Aborted")
+    void propagatesErrorWhenImportIsAborted() {
+        when(userImportService.importUsers(any())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(userImportController.importUsers(Flux.empty()))
+                .verifyError(IllegalStateException.class);
+    }
+}
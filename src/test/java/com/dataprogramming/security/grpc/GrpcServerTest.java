@@ -0,0 +1,117 @@
+package com.dataprogramming.security.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.config.GrpcProperties;
+import com.dataprogramming.security.grpc.v1.TokenIntrospectionGrpc;
+import com.dataprogramming.security.grpc.v1.TokenRequest;
+import com.dataprogramming.security.grpc.v1.TokenValidationReply;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class GrpcServerTest {
+
+    @Test
+    @DisplayName("serves The Introspection Service On Its Own Port")
+    void servesTheIntrospectionServiceOnItsOwnPort() throws InterruptedException {
+        GrpcServer server = new GrpcServer(properties(0), List.of(service()), Schedulers.boundedElastic());
+        assertThat(server.isRunning()).isFalse();
+        assertThat(server.getPort()).isEqualTo(-1);
+
+        server.start();
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", server.getPort(),
+                InsecureChannelCredentials.create()).build();
+        try {
+            assertThat(server.isRunning()).isTrue();
+            assertThat(server.getPort()).isPositive();
+
+            TokenValidationReply reply = TokenIntrospectionGrpc.newBlockingStub(channel)
+                    .withDeadlineAfter(5, TimeUnit.SECONDS)
+                    .validate(TokenRequest.newBuilder().setCorrelationId("c-1").build());
+
+            assertThat(reply.getValid()).isFalse();
+            assertThat(reply.getCorrelationId()).isEqualTo("c-1");
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            server.stop();
+        }
+
+        assertThat(server.isRunning()).isFalse();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("verifies Tokens On The Auth Scheduler Instead Of The Transport Threads")
+    void verifiesTokensOnTheAuthSchedulerInsteadOfTheTransportThreads() throws InterruptedException {
+        TokenVerifier tokenVerifier = mock(TokenVerifier.class);
+        AtomicReference<String> verifyingThread = new AtomicReference<>();
+        when(tokenVerifier.verify("token")).thenAnswer(invocation -> {
+            verifyingThread.set(Thread.currentThread().getName());
+            return Mono.error(new MalformedJwtException("bad"));
+        });
+        Scheduler authScheduler = Schedulers.newSingle("auth-test");
+        GrpcServer server = new GrpcServer(properties(0), List.of(new TokenIntrospectionService(tokenVerifier,
+                mock(JwtUtil.class), authScheduler, mock(SecurityEventBus.class), new GrpcProperties())), authScheduler);
+        server.start();
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", server.getPort(),
+                InsecureChannelCredentials.create()).build();
+        try {
+            TokenValidationReply reply = TokenIntrospectionGrpc.newBlockingStub(channel)
+                    .withDeadlineAfter(5, TimeUnit.SECONDS)
+                    .validate(TokenRequest.newBuilder().setToken("token").build());
+
+            assertThat(reply.getValid()).isFalse();
+            assertThat(verifyingThread.get()).startsWith("auth-test");
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            server.stop();
+            authScheduler.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("fails To Start When The Port Is Taken")
+    void failsToStartWhenThePortIsTaken() {
+        GrpcServer first = new GrpcServer(properties(0), List.of(service()), Schedulers.boundedElastic());
+        first.start();
+        try {
+            GrpcServer second = new GrpcServer(properties(first.getPort()), List.of(service()), Schedulers.boundedElastic());
+
+            assertThatThrownBy(second::start).isInstanceOf(UncheckedIOException.class);
+            assertThat(second.isRunning()).isFalse();
+        } finally {
+            first.stop();
+        }
+    }
+
+    private static GrpcProperties properties(int port) {
+        GrpcProperties properties = new GrpcProperties();
+        properties.setPort(port);
+        properties.setShutdownTimeout(Duration.ofSeconds(1));
+        return properties;
+    }
+
+    private static TokenIntrospectionService service() {
+        return new TokenIntrospectionService(mock(TokenVerifier.class), mock(JwtUtil.class), Schedulers.immediate(),
+                mock(SecurityEventBus.class), new GrpcProperties());
+    }
+}
@@ -0,0 +1,317 @@
+package com.dataprogramming.security.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.config.GrpcProperties;
+import com.dataprogramming.security.grpc.v1.TokenIntrospectionGrpc;
+import com.dataprogramming.security.grpc.v1.TokenRefreshReply;
+import com.dataprogramming.security.grpc.v1.TokenRequest;
+import com.dataprogramming.security.grpc.v1.TokenValidationReply;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
+import com.dataprogramming.security.security.jwt.JwtUtil;
+import com.dataprogramming.security.security.jwt.TokenVerifier;
+import com.dataprogramming.security.tenant.TenantContext;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenVerifier tokenVerifier;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private SecurityEventBus securityEventBus;
+
+    private Server server;
+    private ManagedChannel channel;
+    private TokenIntrospectionGrpc.TokenIntrospectionBlockingStub blockingStub;
+    private TokenIntrospectionGrpc.TokenIntrospectionStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GrpcProperties properties = new GrpcProperties();
+        properties.setBatchConcurrency(4);
+        TokenIntrospectionService service = new TokenIntrospectionService(tokenVerifier, jwtUtil,
+                Schedulers.immediate(), securityEventBus, properties);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = TokenIntrospectionGrpc.newBlockingStub(channel);
+        asyncStub = TokenIntrospectionGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("validates A Token With The Rest Claim Mapping")
+    void validatesATokenWithTheRestClaimMapping() {
+        when(tokenVerifier.verify("valid")).thenReturn(Mono.just(claims("john_doe")));
+
+        TokenValidationReply reply = blockingStub.validate(request("valid", "c-1"));
+
+        assertThat(reply.getValid()).isTrue();
+        assertThat(reply.getMessage()).isEqualTo("Valid token");
+        assertThat(reply.getUsername()).isEqualTo("john_doe");
+        assertThat(reply.getRole()).isEqualTo("ROLE_USER");
+        assertThat(reply.getEnabled()).isTrue();
+        assertThat(reply.getCorrelationId()).isEqualTo("c-1");
+    }
+
+    @Test
+    @DisplayName("replies Invalid For Expired Malformed And Blank Tokens")
+    void repliesInvalidForExpiredMalformedAndBlankTokens() {
+        when(tokenVerifier.verify("expired")).thenReturn(Mono.error(mock(ExpiredJwtException.class)));
+        when(tokenVerifier.verify("malformed")).thenReturn(Mono.error(new MalformedJwtException("bad")));
+
+        TokenValidationReply expired = blockingStub.validate(request("expired", "c-1"));
+        TokenValidationReply malformed = blockingStub.validate(request("malformed", "c-2"));
+        TokenValidationReply blank = blockingStub.validate(request(" ", "c-3"));
+
+        assertThat(expired.getValid()).isFalse();
+        assertThat(expired.getMessage()).isEqualTo("The token has expired");
+        assertThat(malformed.getValid()).isFalse();
+        assertThat(malformed.getMessage()).isEqualTo("Invalid token");
+        assertThat(malformed.getCorrelationId()).isEqualTo("c-2");
+        assertThat(blank.getValid()).isFalse();
+        assertThat(blank.getUsername()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("fails The Call With Internal When Verification Fails Unexpectedly")
+    void failsTheCallWithInternalWhenVerificationFailsUnexpectedly() {
+        when(tokenVerifier.verify("valid")).thenReturn(Mono.error(new IllegalStateException("cache down")));
+
+        assertThatThrownBy(() -> blockingStub.validate(request("valid", "")))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(error -> ((StatusRuntimeException) error).getStatus().getCode())
+                .isEqualTo(Status.Code.INTERNAL);
+    }
+
+    @Test
+    @DisplayName("refreshes A Valid Token And Publishes The Event")
+    void refreshesAValidTokenAndPublishesTheEvent() {
+        when(tokenVerifier.verify("valid")).thenReturn(Mono.just(claims("john_doe")));
+        when(jwtUtil.generateToken(argThat(user -> "john_doe".equals(user.userName())), eq(TenantContext.DEFAULT)))
+                .thenReturn("renewed");
+
+        TokenRefreshReply reply = blockingStub.refresh(request("valid", ""));
+
+        assertThat(reply.getValid()).isTrue();
+        assertThat(reply.getMessage()).isEqualTo("Token successfully renewed");
+        assertThat(reply.getToken()).isEqualTo("renewed");
+        assertThat(reply.getUsername()).isEqualTo("john_doe");
+        assertThat(reply.getRole()).isEqualTo("ROLE_USER");
+        assertThat(reply.getEnabled()).isTrue();
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.TOKEN_REFRESHED
+                && event.userName().equals("john_doe")));
+    }
+
+    @Test
+    @DisplayName("does Not Refresh Expired Invalid Or Blank Tokens")
+    void doesNotRefreshExpiredInvalidOrBlankTokens() {
+        when(tokenVerifier.verify("expired")).thenReturn(Mono.error(mock(ExpiredJwtException.class)));
+        when(tokenVerifier.verify("malformed")).thenReturn(Mono.error(new MalformedJwtException("bad")));
+
+        assertThat(blockingStub.refresh(request("expired", "")).getMessage())
+                .isEqualTo("The token has expired, it cannot be refreshed");
+        assertThat(blockingStub.refresh(request("malformed", "")).getMessage()).isEqualTo("Invalid token");
+        assertThat(blockingStub.refresh(request("", "")).getValid()).isFalse();
+        verifyNoInteractions(jwtUtil, securityEventBus);
+    }
+
+    @Test
+    @DisplayName("does Not Refresh Tokens Without A Known Role")
+    void doesNotRefreshTokensWithoutAKnownRole() {
+        Claims unknownRole = claims("john_doe");
+        unknownRole.put("role", "ROLE_ROOT");
+        Claims noRole = claims("john_doe");
+        noRole.remove("role");
+        when(tokenVerifier.verify("unknown-role")).thenReturn(Mono.just(unknownRole));
+        when(tokenVerifier.verify("no-role")).thenReturn(Mono.just(noRole));
+
+        TokenRefreshReply unknown = blockingStub.refresh(request("unknown-role", ""));
+        TokenRefreshReply missing = blockingStub.refresh(request("no-role", ""));
+
+        assertThat(unknown.getValid()).isFalse();
+        assertThat(unknown.getMessage()).isEqualTo("Invalid token");
+        assertThat(missing.getValid()).isFalse();
+        assertThat(missing.getMessage()).isEqualTo("Invalid token");
+        verifyNoInteractions(jwtUtil, securityEventBus);
+    }
+
+    @Test
+    @DisplayName("batch Validates A Stream In Request Order")
+    void batchValidatesAStreamInRequestOrder() throws Exception {
+        when(tokenVerifier.verify("slow")).thenReturn(Mono.just(claims("slow_user")).delayElement(Duration.ofMillis(50)));
+        when(tokenVerifier.verify("fast")).thenReturn(Mono.just(claims("fast_user")));
+        when(tokenVerifier.verify("malformed")).thenReturn(Mono.error(new MalformedJwtException("bad")));
+
+        RecordingObserver replies = new RecordingObserver();
+        StreamObserver<TokenRequest> requests = asyncStub.batchValidate(replies);
+        requests.onNext(request("slow", "1"));
+        requests.onNext(request("malformed", "2"));
+        requests.onNext(request("fast", "3"));
+        requests.onCompleted();
+
+        assertThat(replies.completion.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(replies.replies).extracting(TokenValidationReply::getCorrelationId).containsExactly("1", "2", "3");
+        assertThat(replies.replies).extracting(TokenValidationReply::getValid).containsExactly(true, false, true);
+        assertThat(replies.replies.get(2).getUsername()).isEqualTo("fast_user");
+    }
+
+    @Test
+    @DisplayName("reads Only As Many Tokens As It Validates At Once")
+    void readsOnlyAsManyTokensAsItValidatesAtOnce() {
+        when(tokenVerifier.verify(any())).thenReturn(Mono.never());
+
+        RecordingObserver replies = new RecordingObserver();
+        StreamObserver<TokenRequest> requests = asyncStub.batchValidate(replies);
+        for (int index = 0; index < 4; index++) {
+            assertThat(replies.call.isReady()).isTrue();
+            requests.onNext(request("pending", String.valueOf(index)));
+        }
+
+        assertThat(replies.call.isReady()).isFalse();
+        verify(tokenVerifier, times(4)).verify("pending");
+        requests.onError(Status.CANCELLED.asRuntimeException());
+    }
+
+    @Test
+    @DisplayName("sends Replies Only While The Client Is Ready For Them")
+    void sendsRepliesOnlyWhileTheClientIsReadyForThem() throws Exception {
+        when(tokenVerifier.verify("valid")).thenReturn(Mono.just(claims("john_doe")));
+
+        RecordingObserver replies = new RecordingObserver(2);
+        StreamObserver<TokenRequest> requests = asyncStub.batchValidate(replies);
+        for (int index = 0; index < 10; index++) {
+            requests.onNext(request("valid", String.valueOf(index)));
+        }
+
+        assertThat(replies.call.isReady()).isFalse();
+        requests.onCompleted();
+        assertThat(replies.replies).hasSize(2);
+        assertThat(replies.completion).isNotDone();
+
+        replies.call.request(8);
+
+        assertThat(replies.completion.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(replies.replies).extracting(TokenValidationReply::getCorrelationId)
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    @Test
+    @DisplayName("stops The Batch When The Client Cancels")
+    void stopsTheBatchWhenTheClientCancels() throws Exception {
+        when(tokenVerifier.verify(any())).thenReturn(Mono.never());
+
+        RecordingObserver replies = new RecordingObserver();
+        StreamObserver<TokenRequest> requests = asyncStub.batchValidate(replies);
+        requests.onNext(request("pending", "1"));
+        requests.onError(Status.CANCELLED.asRuntimeException());
+
+        assertThat(replies.completion.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(StatusRuntimeException.class);
+        assertThat(replies.replies).isEmpty();
+    }
+
+    private static TokenRequest request(String token, String correlationId) {
+        return TokenRequest.newBuilder().setToken(token).setCorrelationId(correlationId).build();
+    }
+
+    private static Claims claims(String subject) {
+        Claims claims = Jwts.claims().setSubject(subject);
+        claims.put("role", "ROLE_USER");
+        claims.put("enabled", true);
+        claims.put("documentType", "DNI");
+        claims.put("documentNumber", "12345678");
+        return claims;
+    }
+
+    /**
+     * Records the replies of a batch stream. Given a number of replies, it asks for only those
+     * up front and for the rest explicitly through {@link #call}, so tests can hold the server back.
+     */
+    private static final class RecordingObserver implements ClientResponseObserver<TokenRequest, TokenValidationReply> {
+
+        private final List<TokenValidationReply> replies = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Throwable> completion = new CompletableFuture<>();
+        private final int initialReplies;
+        private ClientCallStreamObserver<TokenRequest> call;
+
+        private RecordingObserver() {
+            this(-1);
+        }
+
+        private RecordingObserver(int initialReplies) {
+            this.initialReplies = initialReplies;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<TokenRequest> call) {
+            this.call = call;
+            if (initialReplies >= 0) {
+                call.disableAutoRequestWithInitial(initialReplies);
+            }
+        }
+
+        @Override
+        public void onNext(TokenValidationReply reply) {
+            replies.add(reply);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            completion.complete(error);
+        }
+
+        @Override
+        public void onCompleted() {
+            completion.complete(null);
+        }
+    }
+}
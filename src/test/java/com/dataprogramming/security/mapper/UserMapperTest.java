@@ -3,6 +3,7 @@ package com.dataprogramming.security.mapper;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.dataprogramming.security.domain.User;
 import com.dataprogramming.security.security.model.RegisterRequest;
@@ -32,10 +33,10 @@ class UserMapperTest {
         RegisterResponse response = userMapper.toRegisterResponse(user);
 
         assertNotNull(response);
-        assertEquals(user.getUserName(), response.getUserName());
-        assertEquals(user.getDocumentType(), response.getDocumentType());
-        assertEquals(user.getDocumentNumber(), response.getDocumentNumber());
-        assertEquals(user.getRole(), response.getRole());
+        assertEquals(user.userName(), response.userName());
+        assertEquals(user.documentType(), response.documentType());
+        assertEquals(user.documentNumber(), response.documentNumber());
+        assertEquals(user.role(), response.role());
     }
 
     @Test
@@ -46,24 +47,28 @@ class UserMapperTest {
     }
 
     @Test
-    @DisplayName("maps valid RegisterRequest to User ignoring id and enabled")
-    void mapsValidRegisterRequestToUserIgnoringIdAndEnabled() {
+    @DisplayName("maps valid RegisterRequest to enabled User with encoded password and no id")
+    void mapsValidRegisterRequestToEnabledUserWithEncodedPasswordAndNoId() {
         RegisterRequest request = TestUtil.readDataFromFileJson
                 ("request/registerRequest.json", new TypeReference<>() {});
+        String rawPassword = request.getPassword();
 
-        User user = userMapper.toUser(request);
+        User user = userMapper.toUser(request, "encodedPassword");
 
         assertNotNull(user);
-        assertNull(user.getId());
-        assertEquals(request.getUserName(), user.getUserName());
-        assertEquals(request.getDocumentType(), user.getDocumentType());
-        assertEquals(request.getDocumentNumber(), user.getDocumentNumber());
+        assertNull(user.id());
+        assertEquals("encodedPassword", user.password());
+        assertTrue(user.enabled());
+        assertEquals(request.getUserName(), user.userName());
+        assertEquals(request.getDocumentType(), user.documentType());
+        assertEquals(request.getDocumentNumber(), user.documentNumber());
+        assertEquals(rawPassword, request.getPassword());
     }
 
     @Test
     @DisplayName("returns Null If RegisterRequest Is Null")
     void returnsNullIfRegisterRequestIsNull() {
-        User user = userMapper.toUser(null);
+        User user = userMapper.toUser(null, null);
         assertNull(user);
     }
 }
\ No newline at end of file
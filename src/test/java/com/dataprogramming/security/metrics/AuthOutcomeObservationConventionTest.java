@@ -0,0 +1,59 @@
+package com.dataprogramming.security.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.tenant.TenantContext;
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+class AuthOutcomeObservationConventionTest {
+
+    private final AuthOutcomeObservationConvention convention = new AuthOutcomeObservationConvention();
+
+    @ParameterizedTest
+    @CsvSource({"200,success", "201,success", "401,unauthorized", "403,forbidden", "409,conflict",
+            "400,client_error", "503,server_error"})
+    @DisplayName("tags The Auth Outcome Of The Response Status")
+    void tagsTheAuthOutcomeOfTheResponseStatus(int status, String outcome) {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.setStatusCode(HttpStatus.valueOf(status));
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                MockServerHttpRequest.post("/auth/login").build(), response, new HashMap<>());
+
+        assertThat(convention.getLowCardinalityKeyValues(context))
+                .contains(KeyValue.of(AuthOutcomeObservationConvention.AUTH_OUTCOME, outcome))
+                .extracting(KeyValue::getKey)
+                .contains("uri", "status", "outcome");
+    }
+
+    @Test
+    @DisplayName("tags The Tenant Of The Request")
+    void tagsTheTenantOfTheRequest() {
+        Map<String, Object> attributes = new HashMap<>();
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                MockServerHttpRequest.post("/auth/login").build(), new MockServerHttpResponse(), attributes);
+        assertThat(convention.getLowCardinalityKeyValues(context))
+                .contains(KeyValue.of(AuthOutcomeObservationConvention.TENANT, TenantContext.DEFAULT));
+
+        attributes.put(TenantContext.ATTRIBUTE, "bank-a");
+
+        assertThat(convention.getLowCardinalityKeyValues(context))
+                .contains(KeyValue.of(AuthOutcomeObservationConvention.TENANT, "bank-a"));
+    }
+
+    @Test
+    @DisplayName("reports Unknown When There Is No Status")
+    void reportsUnknownWhenThereIsNoStatus() {
+        assertThat(AuthOutcomeObservationConvention.authOutcome(null)).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,111 @@
+package com.dataprogramming.security.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import com.dataprogramming.security.config.SloProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+class SloEndpointTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+    private SloEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        SloProperties properties = new SloProperties();
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setSampleInterval(Duration.ofSeconds(30));
+        properties.setAlertBurnRate(10);
+        SloProperties.Objective login = new SloProperties.Objective();
+        login.setLatency(Duration.ofMillis(100));
+        login.setTarget(0.9);
+        login.setBoundaries(List.of(Duration.ofMillis(50), Duration.ofSeconds(1)));
+        properties.getRoutes().put("/auth/login", login);
+        meterRegistry.config().meterFilter(new RouteSloMeterFilter(properties));
+        endpoint = new SloEndpoint(meterRegistry, properties, timer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+        timer.dispose();
+    }
+
+    @Test
+    @DisplayName("publishes The Objective And Boundaries As Histogram Buckets Of Tracked Routes Only")
+    void publishesTheObjectiveAndBoundariesAsHistogramBucketsOfTrackedRoutesOnly() {
+        Timer login = request("/auth/login", "200", 10);
+        Timer other = request("/other", "200", 10);
+
+        assertThat(login.takeSnapshot().histogramCounts())
+                .extracting(bucket -> Duration.ofNanos((long) bucket.bucket()))
+                .contains(Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofSeconds(1));
+        assertThat(other.takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("reports No Burn Without Requests")
+    void reportsNoBurnWithoutRequests() {
+        SloEndpoint.RouteReport route = endpoint.report().routes().get("/auth/login");
+
+        assertThat(route.requests()).isZero();
+        assertThat(route.burnRate()).isZero();
+        assertThat(route.alerting()).isFalse();
+        assertThat(route.latencyObjectiveMs()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("counts Slow Requests And Server Errors Against The Budget")
+    void countsSlowRequestsAndServerErrorsAgainstTheBudget() {
+        for (int i = 0; i < 7; i++) {
+            request("/auth/login", "200", 20);
+        }
+        request("/auth/login", "401", 20);
+        request("/auth/login", "200", 500);
+        request("/auth/login", "500", 5);
+
+        SloEndpoint.SloReport report = endpoint.report();
+        SloEndpoint.RouteReport route = report.routes().get("/auth/login");
+
+        assertThat(report.windowSeconds()).isEqualTo(60);
+        assertThat(route.requests()).isEqualTo(10);
+        assertThat(route.withinObjective()).isEqualTo(8);
+        assertThat(route.burnRate()).isCloseTo(2.0, offset(1e-9));
+        assertThat(route.alerting()).isFalse();
+    }
+
+    @Test
+    @DisplayName("only Counts Requests Inside The Window")
+    void onlyCountsRequestsInsideTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            request("/auth/login", "503", 5);
+        }
+        assertThat(endpoint.report().routes().get("/auth/login").alerting()).isTrue();
+
+        timer.advanceTimeBy(Duration.ofSeconds(60));
+        request("/auth/login", "200", 5);
+
+        SloEndpoint.RouteReport route = endpoint.report().routes().get("/auth/login");
+        assertThat(route.requests()).isEqualTo(1);
+        assertThat(route.burnRate()).isZero();
+    }
+
+    private Timer request(String uri, String status, long millis) {
+        Timer timer = Timer.builder(RouteSloMeterFilter.HTTP_SERVER_REQUESTS)
+                .tags("uri", uri, "status", status)
+                .register(meterRegistry);
+        timer.record(Duration.ofMillis(millis));
+        return timer;
+    }
+}
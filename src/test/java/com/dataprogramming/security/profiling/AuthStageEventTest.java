@@ -0,0 +1,72 @@
+package com.dataprogramming.security.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class AuthStageEventTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("runs The Work Without A Recording")
+    void runsTheWorkWithoutARecording() {
+        assertThat(AuthStageEvent.time(AuthStageEvent.JWT_SIGN, () -> "token")).isEqualTo("token");
+        StepVerifier.create(AuthStageEvent.time(AuthStageEvent.TOKEN_VERIFY, Mono.just("claims")))
+                .expectNext("claims")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("records Blocking And Reactive Stages With Their Outcome")
+    void recordsBlockingAndReactiveStagesWithTheirOutcome() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            AuthStageEvent.time(AuthStageEvent.JWT_SIGN, () -> "token");
+            assertThatThrownBy(() -> AuthStageEvent.time(AuthStageEvent.JWT_PARSE, () -> {
+                throw new IllegalArgumentException("bad token");
+            })).isInstanceOf(IllegalArgumentException.class);
+            AuthStageEvent.time(AuthStageEvent.USER_VALIDATE, Mono.delay(Duration.ofMillis(20)).then(Mono.empty())).block();
+            AuthStageEvent.time(AuthStageEvent.TOKEN_VERIFY, Mono.error(new IllegalStateException())).onErrorComplete().block();
+            StepVerifier.create(AuthStageEvent.time(AuthStageEvent.USER_LOOKUP, Mono.never()))
+                    .thenCancel()
+                    .verify();
+        });
+
+        assertThat(events)
+                .extracting(event -> event.getString("stage") + "=" + event.getString("outcome"))
+                .containsExactlyInAnyOrder("jwt.sign=success", "jwt.parse=error", "user.validate=empty", "token.verify=error",
+                        "user.lookup=cancelled");
+        assertThat(events)
+                .filteredOn(event -> event.getString("stage").equals(AuthStageEvent.USER_VALIDATE))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(20)));
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws IOException {
+        Path file = directory.resolve("stages.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AuthStageEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(AuthStageEvent.NAME))
+                .toList();
+    }
+}
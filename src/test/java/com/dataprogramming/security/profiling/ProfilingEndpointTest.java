@@ -0,0 +1,91 @@
+package com.dataprogramming.security.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.ProfilingProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+class ProfilingEndpointTest {
+
+    private final ProfilingProperties properties = new ProfilingProperties();
+    private final ProfilingEndpoint endpoint = new ProfilingEndpoint(properties);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+    }
+
+    @Test
+    @DisplayName("returns Not Found Before Any Recording")
+    void returnsNotFoundBeforeAnyRecording() {
+        assertThat(endpoint.download().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("records Until Stopped And Returns The Jfr File With The Auth Stages")
+    void recordsUntilStoppedAndReturnsTheJfrFileWithTheAuthStages() throws IOException {
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        WebEndpointResponse<ProfilingEndpoint.RecordingStatus> started = endpoint.start(Duration.ofHours(1));
+
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody().state()).isEqualTo("RUNNING");
+        assertThat(started.getBody().durationSeconds()).isEqualTo(60);
+        assertThat(endpoint.start(null).getStatus()).isEqualTo(409);
+
+        AuthStageEvent.time(AuthStageEvent.PASSWORD_MATCH, () -> true);
+        assertThat(stages(endpoint.download().getBody())).isEqualTo(1);
+
+        WebEndpointResponse<ProfilingEndpoint.RecordingStatus> stopped = endpoint.stop();
+        assertThat(stopped.getBody().state()).isEqualTo("CLOSED");
+
+        Resource file = endpoint.download().getBody();
+        assertThat(file.getFilename()).endsWith(".jfr");
+        assertThat(stages(file)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("starts A New Recording After The Previous One Stopped")
+    void startsANewRecordingAfterThePreviousOneStopped() {
+        endpoint.start(Duration.ofSeconds(30));
+        endpoint.stop();
+        Resource previous = endpoint.download().getBody();
+
+        assertThat(endpoint.start(null).getBody().durationSeconds()).isEqualTo(60);
+        assertThat(previous.exists()).isFalse();
+    }
+
+    @Test
+    @DisplayName("keeps The Default Profile Sampling Unless Overridden")
+    void keepsTheDefaultProfileSamplingUnlessOverridden() throws Exception {
+        Map<String, String> defaults = Configuration.getConfiguration("default").getSettings();
+
+        assertThat(endpoint.settings())
+                .containsEntry("jdk.ExecutionSample#period", defaults.get("jdk.ExecutionSample#period"))
+                .containsEntry("jdk.ObjectAllocationSample#throttle", defaults.get("jdk.ObjectAllocationSample#throttle"));
+
+        properties.setExecutionSamplePeriod(Duration.ofMillis(10));
+        properties.setAllocationSamplesPerSecond(300);
+        assertThat(endpoint.settings())
+                .containsEntry("jdk.ExecutionSample#period", "10 ms")
+                .containsEntry("jdk.ObjectAllocationSample#throttle", "300/s");
+    }
+
+    private static long stages(Resource resource) throws IOException {
+        return RecordingFile.readAllEvents(resource.getFile().toPath()).stream()
+                .map(RecordedEvent::getEventType)
+                .filter(type -> type.getName().equals(AuthStageEvent.NAME))
+                .count();
+    }
+}
@@ -0,0 +1,99 @@
+package com.dataprogramming.security.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.dataprogramming.security.config.UserStoreProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class InMemoryUserStoreTest extends UserStoreContractTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+    private InMemoryUserStore store;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryUserStore(new UserStoreProperties(), tenantResolver(), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.destroy();
+        timer.dispose();
+    }
+
+    @Override
+    protected UserStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("writes A Snapshot Only When Users Changed And Restores It")
+    void writesASnapshotOnlyWhenUsersChangedAndRestoresIt() throws Exception {
+        Path snapshot = directory.resolve("users.json");
+        InMemoryUserStore snapshotted = snapshotted(snapshot);
+        User saved = snapshotted.save(user("abel", "47222415")).block();
+
+        timer.advanceTimeBy(Duration.ofSeconds(10));
+        assertThat(snapshot).exists();
+        long written = Files.getLastModifiedTime(snapshot).toMillis();
+        Files.delete(snapshot);
+        timer.advanceTimeBy(Duration.ofSeconds(10));
+        assertThat(snapshot).doesNotExist();
+
+        snapshotted.removeById(saved.id()).block();
+        snapshotted.save(user("bruno", "2")).block();
+        snapshotted.save(user("carla", "3")).contextWrite(TenantContext.with(TENANT)).block();
+        snapshotted.destroy();
+
+        InMemoryUserStore restored = snapshotted(snapshot);
+        assertThat(restored.findByUserName("bruno").block()).isNotNull();
+        assertThat(restored.findByUserName("abel").block()).isNull();
+        assertThat(restored.existsByDocumentNumber("2").block()).isTrue();
+        assertThat(restored.findByUserName("carla").block()).isNull();
+        assertThat(restored.findByUserName("carla").contextWrite(TenantContext.with(TENANT)).block()).isNotNull();
+        assertThat(written).isPositive();
+        restored.destroy();
+        assertThat(directory.resolve("users.json.tmp")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("starts Empty Without A Snapshot And Fails On A Corrupt One")
+    void startsEmptyWithoutASnapshotAndFailsOnACorruptOne() throws Exception {
+        Path snapshot = directory.resolve("nested/users.json");
+        InMemoryUserStore empty = snapshotted(snapshot);
+        assertThat(empty.findAll().collectList().block()).isEmpty();
+        empty.destroy();
+        assertThat(snapshot).doesNotExist();
+
+        Files.createDirectories(snapshot.getParent());
+        Files.writeString(snapshot, "{not json");
+
+        assertThatThrownBy(() -> snapshotted(snapshot)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private InMemoryUserStore snapshotted(Path snapshot) {
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setSnapshotPath(snapshot.toString());
+        properties.setSnapshotInterval(Duration.ofSeconds(10));
+        return new InMemoryUserStore(properties, tenantResolver(), objectMapper, timer, Schedulers.immediate());
+    }
+}
@@ -0,0 +1,152 @@
+package com.dataprogramming.security.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.config.UserStoreProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the {@link UserStore} behaviour against an in-memory MongoDB wire-protocol server, with
+ * the unique indexes on user name and document number the store creates once ready in the
+ * default collection and in the one of the tenant.
+ */
+class MongoUserStoreTest extends UserStoreContractTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private ReactiveMongoTemplate template;
+    private MongoUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://%s:%d".formatted(address.getHostString(), address.getPort()));
+        template = new ReactiveMongoTemplate(client, "users-test");
+        store = new MongoUserStore(template, tenantResolver(), new UserStoreProperties());
+        store.createIndexes().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Override
+    protected UserStore store() {
+        return store;
+    }
+
+    @Test
+    @DisplayName("creates The Unique Indexes In The Users Collection And In Every Tenant Collection")
+    void createsTheUniqueIndexesInTheUsersCollectionAndInEveryTenantCollection() {
+        for (String collection : List.of(User.COLLECTION, TENANT_COLLECTION)) {
+            StepVerifier.create(template.indexOps(collection).getIndexInfo()
+                            .filter(IndexInfo::isUnique)
+                            .flatMapIterable(IndexInfo::getIndexFields)
+                            .map(IndexField::getKey)
+                            .collectList())
+                    .assertNext(fields -> assertThat(fields).containsExactlyInAnyOrder("userName", "documentNumber"))
+                    .verifyComplete();
+        }
+        StepVerifier.create(store.createIndexes()).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("creates The Indexes In The Background Unless Disabled")
+    void createsTheIndexesInTheBackgroundUnlessDisabled() {
+        ReactiveMongoTemplate unreachable = mock(ReactiveMongoTemplate.class);
+        ReactiveIndexOperations indexOperations = mock(ReactiveIndexOperations.class);
+        when(unreachable.indexOps(anyString())).thenReturn(indexOperations);
+        when(indexOperations.createIndex(any())).thenReturn(Mono.never());
+        UserStoreProperties properties = new UserStoreProperties();
+        properties.setIndexTimeout(Duration.ofMillis(50));
+
+        new MongoUserStore(unreachable, tenantResolver(), properties).createIndexesWhenReady();
+
+        verify(indexOperations, timeout(1_000).times(2)).createIndex(any());
+
+        properties.setCreateIndexes(false);
+        new MongoUserStore(unreachable, tenantResolver(), properties).createIndexesWhenReady();
+
+        verify(unreachable, times(2)).indexOps(anyString());
+    }
+
+    @Test
+    @DisplayName("maps Bulk Write Errors To Per User Results")
+    void mapsBulkWriteErrorsToPerUserResults() {
+        MongoBulkWriteException error = new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1),
+                        new BulkWriteError(121, "Document failed validation", new BsonDocument(), 2)),
+                null, new ServerAddress(), Set.of());
+        List<User> batch = List.of(imported("abel", "1"), imported("bruno", "2"), imported("carla", "3"));
+
+        StepVerifier.create(failingStore(error).insertAll(batch).collectList())
+                .assertNext(results -> {
+                    assertThat(results).extracting(ImportResult::getStatus).containsExactly(
+                            ImportResult.Status.CREATED, ImportResult.Status.DUPLICATE, ImportResult.Status.FAILED);
+                    assertThat(results.get(2).getMessage()).isEqualTo("Document failed validation");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("returns Failed For The Whole Batch When The Insert Fails")
+    void returnsFailedForTheWholeBatchWhenTheInsertFails() {
+        List<User> batch = List.of(imported("abel", "1"), imported("bruno", "2"));
+
+        StepVerifier.create(failingStore(new IllegalStateException("connection lost")).insertAll(batch).collectList())
+                .assertNext(results -> {
+                    assertThat(results).extracting(ImportResult::getStatus)
+                            .containsOnly(ImportResult.Status.FAILED);
+                    assertThat(results).extracting(ImportResult::getMessage).containsOnly("connection lost");
+                })
+                .verifyComplete();
+    }
+
+    private static MongoUserStore failingStore(Exception error) {
+        ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        when(template.bulkOps(BulkMode.UNORDERED, User.class, User.COLLECTION)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.error(error));
+        return new MongoUserStore(template, tenantResolver(), new UserStoreProperties());
+    }
+}
@@ -0,0 +1,183 @@
+package com.dataprogramming.security.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.dataprogramming.security.tenant.TenantResolver;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Behaviour every {@link UserStore} must have; each implementation runs it against its own
+ * storage.
+ */
+abstract class UserStoreContractTest {
+
+    protected static final String TENANT = "bank-a";
+    protected static final String TENANT_COLLECTION = "users_bank_a";
+
+    protected abstract UserStore store();
+
+    /**
+     * Resolver with one tenant that has a collection of its own.
+     */
+    protected static TenantResolver tenantResolver() {
+        TenantProperties properties = new TenantProperties();
+        properties.getCollections().put(TENANT, TENANT_COLLECTION);
+        return new TenantResolver(properties);
+    }
+
+    @Test
+    @DisplayName("saves New Users With An Id And Version Zero")
+    void savesNewUsersWithAnIdAndVersionZero() {
+        User saved = store().save(user("abel", "47222415")).block();
+
+        assertThat(saved.id()).isNotBlank();
+        assertThat(saved.version()).isZero();
+        StepVerifier.create(store().findByUserName("abel"))
+                .assertNext(found -> {
+                    assertThat(found.id()).isEqualTo(saved.id());
+                    assertThat(found.password()).isEqualTo("hash");
+                    assertThat(found.role()).isEqualTo(RegisterRequest.EnumRole.ROLE_USER);
+                })
+                .verifyComplete();
+        StepVerifier.create(store().findByUserName("unknown")).verifyComplete();
+        StepVerifier.create(store().existsByDocumentNumber("47222415")).expectNext(true).verifyComplete();
+        StepVerifier.create(store().existsByDocumentNumber("00000000")).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("increments The Version And Rejects Stale Saves")
+    void incrementsTheVersionAndRejectsStaleSaves() {
+        User saved = store().save(user("abel", "47222415")).block();
+
+        User updated = store().save(saved.withPassword("new-hash")).block();
+
+        assertThat(updated.version()).isEqualTo(1L);
+        StepVerifier.create(store().findById(saved.id()))
+                .assertNext(found -> assertThat(found.getVersion()).isEqualTo(1L))
+                .verifyComplete();
+        StepVerifier.create(store().save(saved.withPassword("stale")))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("rejects A New User With A Taken User Name")
+    void rejectsANewUserWithATakenUserName() {
+        store().save(user("abel", "47222415")).block();
+
+        StepVerifier.create(store().save(user("abel", "11111111")))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+        StepVerifier.create(store().existsByDocumentNumber("11111111")).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("lists And Finds Projections In Insertion Order")
+    void listsAndFindsProjectionsInInsertionOrder() {
+        User first = store().save(user("abel", "1")).block();
+        User second = store().save(user("bruno", "2")).block();
+        store().save(user("carla", "3")).block();
+
+        StepVerifier.create(store().findAll().map(UserResponse::getUserName).collectList())
+                .expectNext(List.of("abel", "bruno", "carla"))
+                .verifyComplete();
+        StepVerifier.create(store().findById(second.id()))
+                .expectNext(new UserResponse(second.id(), "bruno", "2", true, 0L))
+                .verifyComplete();
+        StepVerifier.create(store().findById(new ObjectId().toHexString())).verifyComplete();
+        StepVerifier.create(store().findByDocumentNumberIn(Set.of("1", "3", "9"))
+                        .map(UserResponse::getDocumentNumber)
+                        .collectList())
+                .assertNext(found -> assertThat(found).containsExactlyInAnyOrder("1", "3"))
+                .verifyComplete();
+        assertThat(first.id()).isNotEqualTo(second.id());
+    }
+
+    @Test
+    @DisplayName("removes A User And Returns It Once")
+    void removesAUserAndReturnsItOnce() {
+        User saved = store().save(user("abel", "47222415")).block();
+
+        StepVerifier.create(store().removeById(saved.id()))
+                .assertNext(removed -> assertThat(removed.userName()).isEqualTo("abel"))
+                .verifyComplete();
+        StepVerifier.create(store().removeById(saved.id())).verifyComplete();
+        StepVerifier.create(store().findByUserName("abel")).verifyComplete();
+        StepVerifier.create(store().existsByDocumentNumber("47222415")).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("inserts A Batch And Reports Taken Keys Per User")
+    void insertsABatchAndReportsTakenKeysPerUser() {
+        store().save(user("abel", "1")).block();
+        List<User> batch = List.of(imported("bruno", "2"), imported("other", "1"), imported("carla", "3"));
+
+        StepVerifier.create(store().insertAll(batch).collectList())
+                .assertNext(results -> {
+                    assertThat(results).extracting(ImportResult::getStatus).containsExactly(
+                            ImportResult.Status.CREATED, ImportResult.Status.DUPLICATE, ImportResult.Status.CREATED);
+                    assertThat(results.get(0).getId()).isEqualTo(batch.get(0).id());
+                    assertThat(results.get(1).getMessage()).isEqualTo("User already exists");
+                })
+                .verifyComplete();
+        StepVerifier.create(store().findAll().map(UserResponse::getUserName).collectList())
+                .expectNext(List.of("abel", "bruno", "carla"))
+                .verifyComplete();
+        StepVerifier.create(store().findByUserName("other")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("keeps The Users Of A Tenant Apart From The Default Ones")
+    void keepsTheUsersOfATenantApartFromTheDefaultOnes() {
+        User shared = store().save(user("abel", "47222415")).block();
+
+        User tenantUser = store().save(user("abel", "47222415"))
+                .contextWrite(TenantContext.with(TENANT))
+                .block();
+
+        assertThat(tenantUser.id()).isNotEqualTo(shared.id());
+        StepVerifier.create(store().findAll().map(UserResponse::getId).collectList()
+                        .contextWrite(TenantContext.with(TENANT)))
+                .expectNext(List.of(tenantUser.id()))
+                .verifyComplete();
+        StepVerifier.create(store().findById(shared.id()).contextWrite(TenantContext.with(TENANT)))
+                .verifyComplete();
+        StepVerifier.create(store().removeById(tenantUser.id()).contextWrite(TenantContext.with(TENANT)))
+                .assertNext(removed -> assertThat(removed.id()).isEqualTo(tenantUser.id()))
+                .verifyComplete();
+        StepVerifier.create(store().findByUserName("abel").contextWrite(TenantContext.with(TENANT)))
+                .verifyComplete();
+        StepVerifier.create(store().findByUserName("abel"))
+                .assertNext(found -> assertThat(found.id()).isEqualTo(shared.id()))
+                .verifyComplete();
+    }
+
+    protected static User user(String userName, String documentNumber) {
+        return User.builder()
+                .documentType("DNI")
+                .documentNumber(documentNumber)
+                .userName(userName)
+                .password("hash")
+                .role(RegisterRequest.EnumRole.ROLE_USER)
+                .enabled(true)
+                .build();
+    }
+
+    protected static User imported(String userName, String documentNumber) {
+        return user(userName, documentNumber).withId(ObjectId.get().toHexString()).withVersion(0L);
+    }
+}
@@ -0,0 +1,39 @@
+package com.dataprogramming.security.repository;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class UserStoreProfileCheckTest {
+
+    @Test
+    @DisplayName("accepts The Store Of The Active Profiles")
+    void acceptsTheStoreOfTheActiveProfiles() {
+        MockEnvironment memory = new MockEnvironment();
+        memory.setActiveProfiles(InMemoryUserStore.PROFILE);
+
+        assertThatCode(() -> new UserStoreProfileCheck(mock(MongoUserStore.class), new MockEnvironment())
+                .afterPropertiesSet()).doesNotThrowAnyException();
+        assertThatCode(() -> new UserStoreProfileCheck(mock(InMemoryUserStore.class), memory)
+                .afterPropertiesSet()).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("fails When A Build Time Store Does Not Match The Active Profiles")
+    void failsWhenABuildTimeStoreDoesNotMatchTheActiveProfiles() {
+        MockEnvironment memory = new MockEnvironment();
+        memory.setActiveProfiles(InMemoryUserStore.PROFILE);
+
+        assertThatThrownBy(() -> new UserStoreProfileCheck(mock(MongoUserStore.class), memory).afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("profile is active");
+        assertThatThrownBy(() -> new UserStoreProfileCheck(mock(InMemoryUserStore.class), new MockEnvironment())
+                .afterPropertiesSet())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("profile is not active");
+    }
+}
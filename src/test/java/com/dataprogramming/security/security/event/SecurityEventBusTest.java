@@ -0,0 +1,78 @@
+package com.dataprogramming.security.security.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.SecurityEventProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class SecurityEventBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SecurityEventBus securityEventBus;
+    private final List<SecurityEvent> listened = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        SecurityEventProperties properties = new SecurityEventProperties();
+        properties.setBufferSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+        securityEventBus = new SecurityEventBus(properties, meterRegistry, List.of(listened::add, event -> {
+            throw new IllegalStateException("listener failure");
+        }), Schedulers.immediate());
+    }
+
+    @Test
+    @DisplayName("delivers Published Events To Every Subscriber")
+    void deliversPublishedEventsToEverySubscriber() {
+        SecurityEvent event = SecurityEvent.of(SecurityEvent.Type.LOGIN_FAILED, "abel", null);
+
+        StepVerifier.create(securityEventBus.subscribe().take(1)
+                        .mergeWith(securityEventBus.subscribe().take(1)))
+                .then(() -> securityEventBus.publish(event))
+                .expectNext(event, event)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("security.events.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("notifies Listeners Even Without Subscribers Or When Another Listener Fails")
+    void notifiesListenersEvenWithoutSubscribersOrWhenAnotherListenerFails() {
+        SecurityEvent event = SecurityEvent.of(SecurityEvent.Type.USER_DELETED, "abel", "1");
+
+        securityEventBus.publish(event);
+
+        assertThat(listened).containsExactly(event);
+        assertThat(meterRegistry.get("security.events.published").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("drops The Oldest Events Of A Slow Subscriber")
+    void dropsTheOldestEventsOfASlowSubscriber() {
+        StepVerifier.create(securityEventBus.subscribe(), 0)
+                .then(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        securityEventBus.publish(SecurityEvent.of(SecurityEvent.Type.LOGIN_FAILED, "user" + i, null));
+                    }
+                })
+                .thenRequest(10)
+                .expectNextMatches(event -> event.userName().equals("user0"))
+                .expectNextMatches(event -> event.userName().equals("user6"))
+                .expectNextCount(3)
+                .expectNoEvent(Duration.ofMillis(10))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.get("security.events.dropped").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("security.events.subscribers").gauge().value()).isZero();
+    }
+}
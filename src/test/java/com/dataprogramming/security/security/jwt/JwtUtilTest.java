@@ -2,6 +2,8 @@ package com.dataprogramming.security.security.jwt;
 
 import com.dataprogramming.security.config.JwtProperties;
 import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.tenant.TenantContext;
 import com.dataprogramming.security.util.TestUtil;
 import io.jsonwebtoken.Claims;
 import org.assertj.core.api.Assertions;
@@ -29,12 +31,13 @@ class JwtUtilTest {
     @DisplayName("returnsValidTokenWithClaimsWhenUserIsProvided")
     void returnsValidTokenWithClaimsWhenUserIsProvided() {
         // Arrange
-        User user = new User();
-        user.setUserName("john_doe");
-        user.setRole("ADMIN");
-        user.setEnabled(true);
-        user.setDocumentType("DNI");
-        user.setDocumentNumber("12345678");
+        User user = User.builder()
+                .userName("john_doe")
+                .role(RegisterRequest.EnumRole.ROLE_ADMIN)
+                .enabled(true)
+                .documentType("DNI")
+                .documentNumber("12345678")
+                .build();
 
         // Act
         String token = jwtUtil.generateToken(user);
@@ -46,12 +49,32 @@ class JwtUtilTest {
 
         Assertions.assertThat(claims.getSubject()).isEqualTo("john_doe");
         Assertions.assertThat(claims.getIssuer()).isEqualTo("TestIssuer");
-        Assertions.assertThat(claims.get("role", String.class)).isEqualTo("ADMIN");
+        Assertions.assertThat(claims.get("role", String.class)).isEqualTo("ROLE_ADMIN");
         Assertions.assertThat(claims.get("enabled", Boolean.class)).isTrue();
         Assertions.assertThat(claims.get("documentType", String.class)).isEqualTo("DNI");
         Assertions.assertThat(claims.get("documentNumber", String.class)).isEqualTo("12345678");
+        Assertions.assertThat(claims).doesNotContainKey(TokenClaims.TENANT);
 
         Date expiration = claims.getExpiration();
         Assertions.assertThat(expiration).isAfter(new Date()); // No debe estar vencido
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("addsTheTenantClaimForTenantsOtherThanTheDefault")
+    void addsTheTenantClaimForTenantsOtherThanTheDefault() {
+        User user = User.builder()
+                .userName("john_doe")
+                .role(RegisterRequest.EnumRole.ROLE_USER)
+                .enabled(true)
+                .documentType("DNI")
+                .documentNumber("12345678")
+                .build();
+
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(user, "bank-a"));
+
+        Assertions.assertThat(claims.get(TokenClaims.TENANT, String.class)).isEqualTo("bank-a");
+        Assertions.assertThat(TokenClaims.tenant(claims)).isEqualTo("bank-a");
+        Assertions.assertThat(TokenClaims.tenant(jwtUtil.extractAllClaims(jwtUtil.generateToken(user))))
+                .isEqualTo(TenantContext.DEFAULT);
+    }
+}
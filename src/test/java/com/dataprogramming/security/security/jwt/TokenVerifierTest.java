@@ -0,0 +1,74 @@
+package com.dataprogramming.security.security.jwt;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.cache.InMemorySharedCache;
+import com.dataprogramming.security.cache.TwoTierCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Date;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVerifierTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Spy
+    private TwoTierCache<Claims> tokenCache = new TwoTierCache<>("tokens", Claims.class, 100,
+            claims -> Duration.ofMinutes(1), new InMemorySharedCache(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private TokenVerifier tokenVerifier;
+
+    @Test
+    @DisplayName("parses A Token Once And Serves Its Claims From The Cache")
+    void parsesATokenOnceAndServesItsClaimsFromTheCache() {
+        Claims claims = Jwts.claims().setSubject("abel");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        StepVerifier.create(tokenVerifier.verify("token").then(tokenVerifier.verify("token")))
+                .expectNext(claims)
+                .verifyComplete();
+
+        verify(jwtUtil, times(1)).extractAllClaims("token");
+    }
+
+    @Test
+    @DisplayName("rejects Cached Claims Once The Token Has Expired")
+    void rejectsCachedClaimsOnceTheTokenHasExpired() {
+        Claims claims = Jwts.claims().setSubject("abel");
+        claims.setExpiration(new Date(System.currentTimeMillis() - 1_000));
+        when(jwtUtil.extractAllClaims("token")).thenReturn(claims);
+
+        StepVerifier.create(tokenVerifier.verify("token"))
+                .expectError(ExpiredJwtException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("propagates The Verification Error Of An Invalid Token")
+    void propagatesTheVerificationErrorOfAnInvalidToken() {
+        when(jwtUtil.extractAllClaims("token")).thenThrow(new MalformedJwtException("malformed"));
+
+        StepVerifier.create(tokenVerifier.verify("token"))
+                .expectError(MalformedJwtException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,273 @@
+package com.dataprogramming.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.security.cache.InMemorySharedCache;
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.config.UserImportProperties;
+import com.dataprogramming.security.domain.User;
+import com.dataprogramming.security.mapper.UserMapper;
+import com.dataprogramming.security.repository.UserStore;
+import com.dataprogramming.security.security.model.ImportResult;
+import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private UserStore userStore;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private NegativeCache unknownUsers;
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(2);
+        properties.setHashConcurrency(2);
+        unknownUsers = new NegativeCache("unknown-users", 100, Duration.ofMinutes(1),
+                new InMemorySharedCache(), new SimpleMeterRegistry());
+        userImportService = new UserImportService(userStore, passwordEncoder,
+                Mappers.getMapper(UserMapper.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                Schedulers.immediate(), properties, unknownUsers, OBJECT_MAPPER);
+    }
+
+    @Test
+    @DisplayName("returns Created Results And Inserts Each Batch At Once")
+    void returnsCreatedResultsAndInsertsEachBatchAtOnce() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+
+        Flux<ImportResult> result = userImportService.importUsers(
+                lines(request("1"), request("2"), request("3")));
+
+        StepVerifier.create(result)
+                .assertNext(r -> assertCreated(r, "1"))
+                .assertNext(r -> assertCreated(r, "2"))
+                .assertNext(r -> assertCreated(r, "3"))
+                .verifyComplete();
+
+        verify(userStore, times(2)).insertAll(anyList());
+        verify(userStore, times(2)).findByDocumentNumberIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("forgets Created Users As Unknown User Names")
+    void forgetsCreatedUsersAsUnknownUserNames() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+        unknownUsers.add("user1", unknownUsers.generation());
+
+        StepVerifier.create(userImportService.importUsers(lines(request("1"))))
+                .assertNext(r -> assertCreated(r, "1"))
+                .verifyComplete();
+
+        assertThat(unknownUsers.contains("user1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("returns Invalid And Duplicate Results Without Inserting Them")
+    void returnsInvalidAndDuplicateResultsWithoutInsertingThem() {
+        RegisterRequest invalid = request("3");
+        invalid.setPassword(null);
+        when(userStore.findByDocumentNumberIn(anyCollection()))
+                .thenReturn(Flux.just(new UserResponse("id", "user1", "1", true, 0L)));
+
+        Flux<ImportResult> result = userImportService.importUsers(lines(request("1"), invalid));
+
+        StepVerifier.create(result)
+                .assertNext(r -> {
+                    assertThat(r.getDocumentNumber()).isEqualTo("3");
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.INVALID);
+                    assertThat(r.getMessage()).isEqualTo("Password cannot be blank");
+                })
+                .assertNext(r -> {
+                    assertThat(r.getDocumentNumber()).isEqualTo("1");
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.DUPLICATE);
+                })
+                .verifyComplete();
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userStore, never()).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("rejects Roles Other Than ROLE_USER Unless An Admin Imports")
+    void rejectsRolesOtherThanRoleUserUnlessAnAdminImports() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+        RegisterRequest admin = request("2");
+        admin.setRole(RegisterRequest.EnumRole.ROLE_ADMIN);
+
+        StepVerifier.create(userImportService.importUsers(lines(request("1"), admin))
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller("ROLE_WRITE"))))
+                .assertNext(r -> {
+                    assertThat(r.getDocumentNumber()).isEqualTo("2");
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.INVALID);
+                    assertThat(r.getMessage()).isEqualTo("Only an administrator can assign ROLE_ADMIN");
+                })
+                .assertNext(r -> assertCreated(r, "1"))
+                .verifyComplete();
+
+        StepVerifier.create(userImportService.importUsers(lines(admin))
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller("ROLE_ADMIN"))))
+                .assertNext(r -> assertCreated(r, "2"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("reports Malformed Lines As Invalid And Imports The Rest")
+    void reportsMalformedLinesAsInvalidAndImportsTheRest() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+        Flux<String> lines = Flux.concat(lines(request("1")),
+                Flux.just("{\"documentNumber\": \"2\", \"password\": \"secret", "", "{\"role\": \"ROLE_ROOT\"}"),
+                lines(request("3")));
+
+        StepVerifier.create(userImportService.importUsers(lines))
+                .assertNext(r -> {
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.INVALID);
+                    assertThat(r.getMessage()).isEqualTo("Malformed record at line 2");
+                })
+                .assertNext(r -> assertCreated(r, "1"))
+                .assertNext(r -> {
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.INVALID);
+                    assertThat(r.getMessage()).isEqualTo("Malformed record at line 4");
+                })
+                .assertNext(r -> assertCreated(r, "3"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("returns Duplicate When Document Number Repeats In The Same Batch")
+    void returnsDuplicateWhenDocumentNumberRepeatsInTheSameBatch() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+
+        Flux<ImportResult> result = userImportService.importUsers(lines(request("1"), request("1")));
+
+        StepVerifier.create(result)
+                .assertNext(r -> assertThat(r.getStatus()).isEqualTo(ImportResult.Status.DUPLICATE))
+                .assertNext(r -> assertCreated(r, "1"))
+                .verifyComplete();
+
+        verify(userStore).findByDocumentNumberIn(Set.of("1"));
+    }
+
+    @Test
+    @DisplayName("returns The Results Of The Store In Batch Order")
+    void returnsTheResultsOfTheStoreInBatchOrder() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        when(userStore.insertAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            return Flux.just(ImportResult.created(users.get(0)),
+                    ImportResult.failed(users.get(1), ImportResult.Status.DUPLICATE, "User already exists"));
+        });
+        unknownUsers.add("user2", unknownUsers.generation());
+
+        Flux<ImportResult> result = userImportService.importUsers(lines(request("1"), request("2")));
+
+        StepVerifier.create(result)
+                .assertNext(r -> assertCreated(r, "1"))
+                .assertNext(r -> {
+                    assertThat(r.getDocumentNumber()).isEqualTo("2");
+                    assertThat(r.getStatus()).isEqualTo(ImportResult.Status.DUPLICATE);
+                })
+                .verifyComplete();
+
+        assertThat(unknownUsers.contains("user2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("forgets Created Users As Unknown User Names Of Their Tenant")
+    void forgetsCreatedUsersAsUnknownUserNamesOfTheirTenant() {
+        when(userStore.findByDocumentNumberIn(anyCollection())).thenReturn(Flux.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        mockInsert();
+        unknownUsers.add("user1", unknownUsers.generation());
+        unknownUsers.add("bank-a:user1", unknownUsers.generation());
+
+        StepVerifier.create(userImportService.importUsers(lines(request("1")))
+                        .contextWrite(TenantContext.with("bank-a")))
+                .assertNext(r -> assertCreated(r, "1"))
+                .verifyComplete();
+
+        assertThat(unknownUsers.contains("bank-a:user1")).isFalse();
+        assertThat(unknownUsers.contains("user1")).isTrue();
+    }
+
+    private void mockInsert() {
+        when(userStore.insertAll(anyList())).thenAnswer(invocation ->
+                Flux.fromIterable(invocation.<List<User>>getArgument(0)).map(ImportResult::created));
+    }
+
+    private static void assertCreated(ImportResult result, String documentNumber) {
+        assertThat(result.getDocumentNumber()).isEqualTo(documentNumber);
+        assertThat(result.getStatus()).isEqualTo(ImportResult.Status.CREATED);
+        assertThat(result.getId()).isNotBlank();
+    }
+
+    private static Flux<String> lines(RegisterRequest... requests) {
+        return Flux.just(requests).map(request -> {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(request);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private static RegisterRequest request(String documentNumber) {
+        return new RegisterRequest("DNI", documentNumber, "user" + documentNumber, "password",
+                RegisterRequest.EnumRole.ROLE_USER);
+    }
+
+    private static Authentication caller(String role) {
+        return new UsernamePasswordAuthenticationToken("caller", null, List.of(new SimpleGrantedAuthority(role)));
+    }
+}
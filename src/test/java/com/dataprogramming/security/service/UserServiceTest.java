@@ -1,78 +1,251 @@
 package com.dataprogramming.security.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.security.cache.InMemorySharedCache;
+import com.dataprogramming.security.cache.NegativeCache;
+import com.dataprogramming.security.cache.SingleFlight;
+import com.dataprogramming.security.cache.TwoTierCache;
 import com.dataprogramming.security.domain.User;
 import com.dataprogramming.security.mapper.UserMapper;
-import com.dataprogramming.security.repository.UserRepository;
+import com.dataprogramming.security.repository.UserStore;
+import com.dataprogramming.security.security.event.SecurityEvent;
+import com.dataprogramming.security.security.event.SecurityEventBus;
 import com.dataprogramming.security.security.model.RegisterRequest;
+import com.dataprogramming.security.security.model.UserResponse;
+import com.dataprogramming.security.tenant.TenantContext;
 import com.dataprogramming.security.util.TestUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserStore userStore;
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private UserMapper userMapper;
 
-    @InjectMocks
+    @Spy
+    private Scheduler authScheduler = Schedulers.immediate();
+    @Spy
+    private TwoTierCache<User> userCache = new TwoTierCache<>("users", User.class, 100,
+            user -> Duration.ofMinutes(1), new InMemorySharedCache(), new SimpleMeterRegistry());
+    @Spy
+    private TwoTierCache<Long> userVersionCache = new TwoTierCache<>("user-versions", Long.class, 100,
+            version -> Duration.ofMinutes(1), new InMemorySharedCache(), new SimpleMeterRegistry());
+    @Spy
+    private SingleFlight<String, User> userNameLookups = new SingleFlight<>("user-by-name", new SimpleMeterRegistry());
+    @Spy
+    private SingleFlight<String, UserResponse> userIdLookups = new SingleFlight<>("user-by-id", new SimpleMeterRegistry());
+    @Spy
+    private NegativeCache unknownUsers = new NegativeCache("unknown-users", 100, Duration.ofMinutes(1),
+            new InMemorySharedCache(), new SimpleMeterRegistry());
+    @Mock
+    private SecurityEventBus securityEventBus;
+
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userStore, passwordEncoder, userMapper, authScheduler, userCache,
+                userVersionCache, userNameLookups, userIdLookups, unknownUsers, securityEventBus);
+    }
+
     @Test
     @DisplayName("returns User When User And Password Are Correct")
     void returnsUserWhenUserAndPasswordAreCorrect() {
-        User user = new User();
-        user.setUserName("abel");
-        user.setPassword("12345678");
+        User user = User.builder()
+                .userName("abel")
+                .password("12345678")
+                .build();
 
-        when(userRepository.findByUserName(any())).thenReturn(Mono.just(user));
+        when(userStore.findByUserName(any())).thenReturn(Mono.just(user));
         when(passwordEncoder.matches(any(), any())).thenReturn(true);
 
         StepVerifier.create(userService.validateUser("abel", "12345678"))
                 .expectNext(user)
                 .verifyComplete();
+
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.LOGIN_SUCCEEDED
+                && event.userName().equals("abel")));
+    }
+
+    @Test
+    @DisplayName("serves Repeated Logins From The User Cache")
+    void servesRepeatedLoginsFromTheUserCache() {
+        User user = User.builder()
+                .userName("abel")
+                .password("12345678")
+                .build();
+
+        when(userStore.findByUserName("abel")).thenReturn(Mono.just(user));
+        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+
+        StepVerifier.create(userService.validateUser("abel", "12345678")
+                        .then(userService.validateUser("abel", "12345678")))
+                .expectNext(user)
+                .verifyComplete();
+
+        verify(userStore, times(1)).findByUserName("abel");
+    }
+
+    @Test
+    @DisplayName("caches Users Of Each Tenant Under Their Own Keys")
+    void cachesUsersOfEachTenantUnderTheirOwnKeys() {
+        User shared = User.builder().userName("abel").password("12345678").build();
+        User tenantUser = User.builder().userName("abel").password("87654321").build();
+        when(userStore.findByUserName("abel"))
+                .thenReturn(Mono.just(shared))
+                .thenReturn(Mono.just(tenantUser));
+        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+
+        StepVerifier.create(userService.validateUser("abel", "12345678")).expectNext(shared).verifyComplete();
+        StepVerifier.create(userService.validateUser("abel", "87654321").contextWrite(TenantContext.with("bank-a")))
+                .expectNext(tenantUser)
+                .verifyComplete();
+
+        verify(userCache).get(eq("abel"), any());
+        verify(userCache).get(eq("bank-a:abel"), any());
+    }
+
+    @Test
+    @DisplayName("coalesces Concurrent Lookups Of The Same User")
+    void coalescesConcurrentLookupsOfTheSameUser() {
+        UserResponse userResponse = TestUtil.readDataFromFileJson(
+                "response/userResponse.json", new TypeReference<>() {});
+        Sinks.One<UserResponse> result = Sinks.one();
+
+        when(userStore.findById("1")).thenReturn(result.asMono());
+
+        Flux<UserResponse> lookups = Flux.merge(userService.getUserById("1"), userService.getUserById("1"));
+
+        StepVerifier.create(lookups)
+                .then(() -> result.tryEmitValue(userResponse))
+                .expectNext(userResponse, userResponse)
+                .verifyComplete();
+
+        verify(userStore, times(1)).findById("1");
+        assertThat(userIdLookups.coalescingRatio()).isEqualTo(0.5);
     }
 
     @Test
     @DisplayName("returns Empty When User Does Not Exist")
     void returnsEmptyWhenUserDoesNotExist() {
-        when(userRepository.findByUserName(any())).thenReturn(Mono.empty());
+        when(userStore.findByUserName(any())).thenReturn(Mono.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+
+        StepVerifier.create(userService.validateUser("noexiste", "cualquier"))
+                .verifyComplete();
+
+        verify(passwordEncoder, times(1)).matches("cualquier", "dummyHash");
+    }
+
+    @Test
+    @DisplayName("remembers Unknown User Names Without Skipping The Password Check")
+    void remembersUnknownUserNamesWithoutSkippingThePasswordCheck() {
+        when(userStore.findByUserName("noexiste")).thenReturn(Mono.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+
+        StepVerifier.create(userService.validateUser("noexiste", "cualquier")
+                        .then(userService.validateUser("noexiste", "cualquier")))
+                .verifyComplete();
+
+        verify(userStore, times(1)).findByUserName("noexiste");
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(passwordEncoder, times(2)).matches("cualquier", "dummyHash");
+    }
+
+    @Test
+    @DisplayName("computes The Dummy Hash Again After A Failed Attempt")
+    void computesTheDummyHashAgainAfterAFailedAttempt() {
+        when(userStore.findByUserName(any())).thenReturn(Mono.empty());
+        when(passwordEncoder.encode(anyString()))
+                .thenThrow(new IllegalStateException("encoder unavailable"))
+                .thenReturn("dummyHash");
 
         StepVerifier.create(userService.validateUser("noexiste", "cualquier"))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(userService.validateUser("otro", "cualquier"))
                 .verifyComplete();
+
+        verify(passwordEncoder, times(2)).encode(anyString());
+        verify(passwordEncoder, times(1)).matches("cualquier", "dummyHash");
+    }
+
+    @Test
+    @DisplayName("looks Up A Previously Unknown User Again Once Registered")
+    void looksUpAPreviouslyUnknownUserAgainOnceRegistered() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUserName("abel");
+        request.setPassword("12345678");
+        User user = User.builder()
+                .userName("abel")
+                .password("encryptedPassword")
+                .build();
+
+        when(userStore.findByUserName("abel")).thenReturn(Mono.empty()).thenReturn(Mono.just(user));
+        when(passwordEncoder.encode(anyString())).thenReturn("encryptedPassword");
+        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+        when(userMapper.toUser(request, "encryptedPassword")).thenReturn(user);
+        when(userStore.save(user.withRole(RegisterRequest.EnumRole.ROLE_USER))).thenReturn(Mono.just(user));
+
+        StepVerifier.create(userService.validateUser("abel", "12345678")
+                        .then(userService.registerUser(request))
+                        .then(userService.validateUser("abel", "12345678")))
+                .expectNext(user)
+                .verifyComplete();
+
+        verify(userStore, times(2)).findByUserName("abel");
+        verify(unknownUsers, times(1)).invalidate("abel");
     }
 
     @Test
     @DisplayName("returns Empty When Password Is Incorrect")
     void returnsEmptyWhenPasswordIsIncorrect() {
-        User user = new User();
-        user.setUserName("abel");
-        user.setPassword("12345678");
+        User user = User.builder()
+                .userName("abel")
+                .password("12345678")
+                .build();
 
-        when(userRepository.findByUserName(any())).thenReturn(Mono.just(user));
+        when(userStore.findByUserName(any())).thenReturn(Mono.just(user));
         when(passwordEncoder.matches(any(), any())).thenReturn(false);
 
         StepVerifier.create(userService.validateUser("abel", "wrongpassword"))
                 .verifyComplete();
+
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.LOGIN_FAILED));
     }
 
     @Test
@@ -82,27 +255,65 @@ class UserServiceTest {
         request.setUserName("abel");
         request.setPassword("plainPassword");
 
-        User user = new User();
-        user.setUserName("abel");
-        user.setPassword("encryptedPassword");
+        User user = User.builder()
+                .userName("abel")
+                .password("encryptedPassword")
+                .build();
 
+        User saved = user.withRole(RegisterRequest.EnumRole.ROLE_USER);
         when(passwordEncoder.encode("plainPassword")).thenReturn("encryptedPassword");
-        when(userMapper.toUser(request)).thenReturn(user);
-        when(userRepository.save(user)).thenReturn(Mono.just(user));
+        when(userMapper.toUser(request, "encryptedPassword")).thenReturn(user);
+        when(userStore.save(saved)).thenReturn(Mono.just(saved));
 
         StepVerifier.create(userService.registerUser(request))
-                .expectNext(user)
+                .expectNext(saved)
+                .verifyComplete();
+
+        assertThat(request.getPassword()).isEqualTo("plainPassword");
+        verify(userCache, times(1)).invalidate("abel");
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.USER_REGISTERED));
+    }
+
+    @Test
+    @DisplayName("registers Anonymous And Non Admin Callers As ROLE_USER Whatever Role They Ask For")
+    void registersAnonymousAndNonAdminCallersAsRoleUserWhateverRoleTheyAskFor() {
+        RegisterRequest request = new RegisterRequest("DNI", "47222415", "abel", "plainPassword",
+                RegisterRequest.EnumRole.ROLE_ADMIN);
+        when(passwordEncoder.encode("plainPassword")).thenReturn("encryptedPassword");
+        when(userMapper.toUser(request, "encryptedPassword")).thenReturn(User.builder().userName("abel")
+                .role(RegisterRequest.EnumRole.ROLE_ADMIN).build());
+        when(userStore.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(userService.registerUser(request))
+                .assertNext(user -> assertThat(user.role()).isEqualTo(RegisterRequest.EnumRole.ROLE_USER))
+                .verifyComplete();
+        StepVerifier.create(userService.registerUser(request)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller("ROLE_WRITE"))))
+                .assertNext(user -> assertThat(user.role()).isEqualTo(RegisterRequest.EnumRole.ROLE_USER))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("registers The Requested Role When An Admin Calls")
+    void registersTheRequestedRoleWhenAnAdminCalls() {
+        RegisterRequest request = new RegisterRequest("DNI", "47222415", "abel", "plainPassword",
+                RegisterRequest.EnumRole.ROLE_READ);
+        when(passwordEncoder.encode("plainPassword")).thenReturn("encryptedPassword");
+        when(userMapper.toUser(request, "encryptedPassword")).thenReturn(User.builder().userName("abel")
+                .role(RegisterRequest.EnumRole.ROLE_READ).build());
+        when(userStore.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(userService.registerUser(request)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller("ROLE_ADMIN"))))
+                .assertNext(user -> assertThat(user.role()).isEqualTo(RegisterRequest.EnumRole.ROLE_READ))
                 .verifyComplete();
     }
 
     @Test
     @DisplayName("Returns False When User Exists")
     void returnsFalseWhenUserExists() {
-
-        User user = TestUtil.readDataFromFileJson(
-                "data/user.json", new TypeReference<>() {});
         // Arrange
-        when(userRepository.findByDocumentNumber(any())).thenReturn(Mono.just(user));
+        when(userStore.existsByDocumentNumber(any())).thenReturn(Mono.just(true));
 
         // Act
         Mono<Boolean> result = userService.userExists("12345678");
@@ -112,14 +323,14 @@ class UserServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findByDocumentNumber(any());
+        verify(userStore, times(1)).existsByDocumentNumber(any());
     }
 
     @Test
     @DisplayName("Returns True When User Does Not Exist")
     void returnsTrueWhenUserDoesNotExist() {
         // Arrange
-        when(userRepository.findByDocumentNumber(any())).thenReturn(Mono.empty());
+        when(userStore.existsByDocumentNumber(any())).thenReturn(Mono.just(false));
 
         // Act
         Mono<Boolean> result = userService.userExists("87654321");
@@ -129,56 +340,56 @@ class UserServiceTest {
                 .expectNext(true)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findByDocumentNumber(any());
+        verify(userStore, times(1)).existsByDocumentNumber(any());
     }
 
     @Test
     @DisplayName("Returns All Users Successfully")
     void returnsAllUsersSuccessfully() {
-        User user = TestUtil.readDataFromFileJson(
-                "data/user.json", new TypeReference<>() {});
+        UserResponse userResponse = TestUtil.readDataFromFileJson(
+                "response/userResponse.json", new TypeReference<>() {});
         // Arrange
-        when(userRepository.findAll()).thenReturn(Flux.just(user));
+        when(userStore.findAll()).thenReturn(Flux.just(userResponse));
 
         // Act
-        Flux<User> result = userService.getAllUsers();
+        Flux<UserResponse> result = userService.getAllUsers();
 
         // Assert
         StepVerifier.create(result)
-                .expectNext(user)
+                .expectNext(userResponse)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findAll();
+        verify(userStore, times(1)).findAll();
     }
 
     @Test
     @DisplayName("Returns Empty Flux When No Users Exist")
     void returnsEmptyFluxWhenNoUsersExist() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Flux.empty());
+        when(userStore.findAll()).thenReturn(Flux.empty());
 
         // Act
-        Flux<User> result = userService.getAllUsers();
+        Flux<UserResponse> result = userService.getAllUsers();
 
         // Assert
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findAll();
+        verify(userStore, times(1)).findAll();
     }
 
     @Test
     @DisplayName("Returns User When Exists")
     void returnsUserWhenExists() {
 
-        User user = TestUtil.readDataFromFileJson(
-                "data/user.json", new TypeReference<>() {});
+        UserResponse userResponse = TestUtil.readDataFromFileJson(
+                "response/userResponse.json", new TypeReference<>() {});
 
         // Arrange
-        when(userRepository.findById(anyString())).thenReturn(Mono.just(user));
+        when(userStore.findById(anyString())).thenReturn(Mono.just(userResponse));
 
         // Act
-        Mono<User> result = userService.getUserById("1");
+        Mono<UserResponse> result = userService.getUserById("1");
 
         // Assert
         StepVerifier.create(result)
@@ -186,35 +397,57 @@ class UserServiceTest {
                         u.getDocumentNumber().equals("12345678"))
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findById(anyString());
+        verify(userStore, times(1)).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("remembers The Version Of Loaded Users Until They Are Deleted")
+    void remembersTheVersionOfLoadedUsersUntilTheyAreDeleted() {
+        when(userStore.findById("1")).thenReturn(Mono.just(new UserResponse("1", "abel", "123", true, 3L)));
+        when(userStore.removeById("1")).thenReturn(Mono.just(User.builder().id("1").userName("abel").build()));
+
+        StepVerifier.create(userService.cachedUserVersion("1")).verifyComplete();
+        StepVerifier.create(userService.getUserById("1").then(userService.cachedUserVersion("1")))
+                .expectNext(3L)
+                .verifyComplete();
+        StepVerifier.create(userService.deleteUserById("1").then(userService.cachedUserVersion("1")))
+                .verifyComplete();
+
+        verify(userVersionCache).invalidate("1");
+    }
+
+    @Test
+    @DisplayName("does Not Cache Users Without A Version")
+    void doesNotCacheUsersWithoutAVersion() {
+        when(userStore.findById("1")).thenReturn(Mono.just(new UserResponse("1", "abel", "123", true, null)));
+
+        StepVerifier.create(userService.getUserById("1").then(userService.cachedUserVersion("1")))
+                .verifyComplete();
+        verify(userVersionCache, never()).put(anyString(), any());
     }
 
     @Test
     @DisplayName("Returns Empty When User Find By Id Does Not Exist")
     void returnsEmptyWhenUserFindByIdDoesNotExist() {
         // Arrange
-        when(userRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(userStore.findById(anyString())).thenReturn(Mono.empty());
 
         // Act
-        Mono<User> result = userService.getUserById("2");
+        Mono<UserResponse> result = userService.getUserById("2");
 
         // Assert
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findById(anyString());
+        verify(userStore, times(1)).findById(anyString());
     }
 
     @Test
     @DisplayName("ReturnsTrueWhenUserIsDeleted")
     void returnsTrueWhenUserIsDeleted() {
-
-        User user = TestUtil.readDataFromFileJson(
-                "data/user.json", new TypeReference<>() {});
-
         // Arrange
-        when(userRepository.findById(anyString())).thenReturn(Mono.just(user));
-        when(userRepository.delete(any())).thenReturn(Mono.empty());
+        User user = User.builder().id("1").userName("abel").build();
+        when(userStore.removeById(anyString())).thenReturn(Mono.just(user));
 
         // Act
         Mono<Boolean> result = userService.deleteUserById("1");
@@ -224,15 +457,17 @@ class UserServiceTest {
                 .expectNext(true)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findById(anyString());
-        verify(userRepository, times(1)).delete(user);
+        verify(userStore, times(1)).removeById("1");
+        verify(userCache, times(1)).invalidate("abel");
+        verify(securityEventBus).publish(argThat(event -> event.type() == SecurityEvent.Type.USER_DELETED
+                && event.detail().equals("1")));
     }
 
     @Test
     @DisplayName("ReturnsFalseWhenUserDoesNotExist")
     void returnsFalseWhenUserDoesNotExist() {
         // Arrange
-        when(userRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(userStore.removeById(anyString())).thenReturn(Mono.empty());
 
         // Act
         Mono<Boolean> result = userService.deleteUserById("2");
@@ -242,7 +477,11 @@ class UserServiceTest {
                 .expectNext(false)
                 .verifyComplete();
 
-        verify(userRepository, times(1)).findById(anyString());
-        verify(userRepository, never()).delete(any());
+        verify(userStore, times(1)).removeById("2");
+        verify(userCache, never()).invalidate(anyString());
+    }
+
+    private static Authentication caller(String role) {
+        return new UsernamePasswordAuthenticationToken("caller", null, List.of(new SimpleGrantedAuthority(role)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.dataprogramming.security.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.dataprogramming.security.config.TenantProperties;
+import com.dataprogramming.security.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class TenantResolverTest {
+
+    private final TenantResolver resolver = resolver();
+
+    @Test
+    @DisplayName("keeps Configured Tenants And Maps The Rest To The Default One")
+    void keepsConfiguredTenantsAndMapsTheRestToTheDefaultOne() {
+        assertThat(resolver.resolve("bank-a")).isEqualTo("bank-a");
+        assertThat(resolver.resolve("bank-z")).isEqualTo(TenantContext.DEFAULT);
+        assertThat(resolver.resolve(null)).isEqualTo(TenantContext.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("routes Tenants Without A Collection To The Users Collection")
+    void routesTenantsWithoutACollectionToTheUsersCollection() {
+        assertThat(resolver.collectionFor("bank-a")).isEqualTo("users_bank_a");
+        assertThat(resolver.collectionFor(TenantContext.DEFAULT)).isEqualTo(User.COLLECTION);
+        assertThat(resolver.collections()).containsExactly(User.COLLECTION, "users_bank_a");
+    }
+
+    @Test
+    @DisplayName("scopes Keys To The Tenant Of The Context")
+    void scopesKeysToTheTenantOfTheContext() {
+        StepVerifier.create(TenantContext.scoped("abel")).expectNext("abel").verifyComplete();
+        StepVerifier.create(TenantContext.scoped("abel").contextWrite(TenantContext.with("bank-a")))
+                .expectNext("bank-a:abel")
+                .verifyComplete();
+        StepVerifier.create(TenantContext.current()).expectNext(TenantContext.DEFAULT).verifyComplete();
+    }
+
+    private static TenantResolver resolver() {
+        TenantProperties properties = new TenantProperties();
+        properties.getCollections().put("bank-a", "users_bank_a");
+        return new TenantResolver(properties);
+    }
+}